@@ -0,0 +1,16 @@
+#!/usr/bin/env bash
+# Builds the application and the benchmarks offline and runs the JMH suites with the GC profiler.
+# Results are written as JSON to $RESULTS_DIR/<version>.json so two releases can be diffed.
+# Extra arguments are passed to JMH, e.g. a benchmark name pattern or -f 3.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+VERSION=${VERSION:-$(git describe --tags --always --dirty 2>/dev/null || echo snapshot)}
+RESULTS_DIR=${RESULTS_DIR:-benchmarks/results}
+BENCHMARKS=${BENCHMARKS:-'MapperBenchmark|BookSpecificationBuilderBenchmark|BookCategoryIndexBenchmark|BookFacetIndexBenchmark|JsonSerializationBenchmark|JwtUtilBenchmark'}
+
+mvn -B -q -o install -DskipTests -Dcheckstyle.skip
+mvn -B -q -o -f benchmarks/pom.xml package
+mkdir -p "$RESULTS_DIR"
+java -jar benchmarks/target/benchmarks.jar "$BENCHMARKS" -prof gc \
+    -rf json -rff "$RESULTS_DIR/$VERSION.json" "$@"
@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Boots the application with the loadtest profile (in-memory H2 seeded with a catalog, users, carts
+# and orders) and drives the mixed LoadTestBenchmark scenarios against it. Works offline once the
+# dependencies are in the local Maven repository. Extra arguments are passed to JMH.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+USERS=${USERS:-30}
+# Weights of addToCart, browseBooks, checkout, orderHistory, searchBooks and viewBook.
+MIX=${MIX:-4,8,2,4,4,8}
+BOOKS=${BOOKS:-10000}
+PORT=${PORT:-8080}
+RESULTS_DIR=${RESULTS_DIR:-benchmarks/results}
+
+IFS=, read -r -a weights <<< "$MIX"
+total=0
+for weight in "${weights[@]}"; do
+  total=$((total + weight))
+done
+thread_groups=""
+users=0
+for weight in "${weights[@]}"; do
+  threads=$(( (USERS * weight + total / 2) / total ))
+  threads=$(( threads > 0 ? threads : 1 ))
+  thread_groups="$thread_groups${thread_groups:+,}$threads"
+  users=$((users + threads))
+done
+
+if [ -z "${SKIP_BUILD:-}" ]; then
+  mvn -B -q -o install -Ploadtest -DskipTests -Dcheckstyle.skip
+  mvn -B -q -o -f benchmarks/pom.xml package
+fi
+mkdir -p "$RESULTS_DIR"
+java -jar target/book-store-app-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=loadtest \
+    --server.port="$PORT" --loadtest.seed.users="$users" --loadtest.seed.books="$BOOKS" \
+    > "$RESULTS_DIR/loadtest-app.log" 2>&1 &
+app_pid=$!
+trap 'kill $app_pid 2>/dev/null || true' EXIT
+until curl -sf "http://localhost:$PORT/readyz" > /dev/null; do
+  if ! kill -0 "$app_pid" 2>/dev/null; then
+    echo "The application failed to start, see $RESULTS_DIR/loadtest-app.log" >&2
+    exit 1
+  fi
+  sleep 1
+done
+
+java -jar benchmarks/target/benchmarks.jar LoadTestBenchmark -tg "$thread_groups" \
+    -p baseUrl="http://localhost:$PORT" -p users="$users" -p books="$BOOKS" \
+    -rf json -rff "$RESULTS_DIR/loadtest.json" "$@" | tee "$RESULTS_DIR/loadtest.txt"
+
+echo "== Throughput (ops/ms) and latency percentiles (ms) per endpoint"
+grep -E "^Benchmark +\(|:(addToCart|browseBooks|checkout|orderHistory|searchBooks|viewBook)( |:p0\.(50|95|99) )" \
+    "$RESULTS_DIR/loadtest.txt" || true
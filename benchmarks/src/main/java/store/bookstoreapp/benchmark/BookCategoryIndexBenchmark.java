@@ -0,0 +1,63 @@
+package store.bookstoreapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import store.bookstoreapp.search.BookCategoryIndex;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookCategoryIndexBenchmark {
+    private static final int CATEGORIES = 20;
+    private static final int CATEGORIES_PER_BOOK = 3;
+
+    @Param({"10000", "100000"})
+    private int books;
+
+    private BookCategoryIndex bookCategoryIndex;
+
+    @Setup
+    public void setUp() {
+        bookCategoryIndex = new BookCategoryIndex();
+        Random random = new Random(42);
+        for (long bookId = 1; bookId <= books; bookId++) {
+            List<Long> categoryIds = new ArrayList<>();
+            for (int i = 0; i < CATEGORIES_PER_BOOK; i++) {
+                categoryIds.add((long) random.nextInt(CATEGORIES) + 1);
+            }
+            bookCategoryIndex.index(bookId, categoryIds);
+        }
+    }
+
+    @Benchmark
+    public long[] allOf() {
+        return bookCategoryIndex.find(Set.of(1L, 2L), Set.of(), Set.of());
+    }
+
+    @Benchmark
+    public long[] allOfNoneOf() {
+        return bookCategoryIndex.find(Set.of(1L, 2L), Set.of(), Set.of(3L));
+    }
+
+    @Benchmark
+    public long[] anyOf() {
+        return bookCategoryIndex.find(Set.of(), Set.of(1L, 2L, 3L), Set.of());
+    }
+}
@@ -0,0 +1,81 @@
+package store.bookstoreapp.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import store.bookstoreapp.dto.book.BookFacetsDto;
+import store.bookstoreapp.model.Book;
+import store.bookstoreapp.search.BookFacetIndex;
+import store.bookstoreapp.search.BookSearchParameters;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class BookFacetIndexBenchmark {
+    private static final int CATEGORIES = 50;
+    private static final int AUTHORS = 50000;
+    private static final BigDecimal[] PRICE_BUCKETS = {BigDecimal.valueOf(10),
+            BigDecimal.valueOf(20), BigDecimal.valueOf(50), BigDecimal.valueOf(100)};
+    private static final BookSearchParameters ALL_BOOKS =
+            new BookSearchParameters(null, null, null, null, null, null, null, null);
+    private static final BookSearchParameters CATEGORIES_FILTER = new BookSearchParameters(
+            null, null, null, new Long[] {1L}, new Long[] {2L, 3L}, new Long[] {4L}, null, null);
+    private static final BookSearchParameters AUTHORS_FILTER = new BookSearchParameters(
+            null, new String[] {"Author 1", "Author 2", "Author 3"}, null, null, null, null,
+            null, null);
+
+    @Param({"100000", "1000000"})
+    private int books;
+
+    private BookFacetIndex bookFacetIndex;
+
+    @Setup
+    public void setUp() {
+        bookFacetIndex = new BookFacetIndex(PRICE_BUCKETS, 10);
+        Random random = new Random(42);
+        for (long bookId = 1; bookId <= books; bookId++) {
+            Book book = new Book();
+            book.setId(bookId);
+            book.setTitle("Title " + bookId);
+            book.setAuthor("Author " + random.nextInt(AUTHORS));
+            book.setIsbn("ISBN-" + bookId);
+            book.setPrice(BigDecimal.valueOf(random.nextInt(15000), 2));
+            List<Long> categoryIds = new ArrayList<>();
+            for (int i = random.nextInt(3); i >= 0; i--) {
+                categoryIds.add((long) random.nextInt(CATEGORIES) + 1);
+            }
+            bookFacetIndex.index(book, categoryIds);
+        }
+    }
+
+    @Benchmark
+    public BookFacetsDto allBooks() {
+        return bookFacetIndex.facets(ALL_BOOKS, String::valueOf);
+    }
+
+    @Benchmark
+    public BookFacetsDto categories() {
+        return bookFacetIndex.facets(CATEGORIES_FILTER, String::valueOf);
+    }
+
+    @Benchmark
+    public BookFacetsDto authors() {
+        return bookFacetIndex.facets(AUTHORS_FILTER, String::valueOf);
+    }
+}
@@ -0,0 +1,77 @@
+package store.bookstoreapp.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+import store.bookstoreapp.model.Book;
+import store.bookstoreapp.repository.book.BookSpecificationBuilder;
+import store.bookstoreapp.repository.book.BookSpecificationProviderManager;
+import store.bookstoreapp.repository.book.specification.AuthorSpecificationProvider;
+import store.bookstoreapp.repository.book.specification.CategorySpecificationProvider;
+import store.bookstoreapp.repository.book.specification.IsbnSpecificationProvider;
+import store.bookstoreapp.repository.book.specification.PriceSpecificationProvider;
+import store.bookstoreapp.repository.book.specification.TitleSpecificationProvider;
+import store.bookstoreapp.search.BookSearchParameters;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookSpecificationBuilderBenchmark {
+    private BookSpecificationBuilder bookSpecificationBuilder;
+    private BookSearchParameters noParameters;
+    private BookSearchParameters authorParameters;
+    private BookSearchParameters allParameters;
+
+    @Setup
+    public void setUp() {
+        bookSpecificationBuilder = new BookSpecificationBuilder(
+                new BookSpecificationProviderManager(List.of(
+                        new AuthorSpecificationProvider(),
+                        new CategorySpecificationProvider(),
+                        new IsbnSpecificationProvider(),
+                        new PriceSpecificationProvider(),
+                        new TitleSpecificationProvider())));
+        noParameters = new BookSearchParameters(
+                null, null, null, null, null, null, null, null);
+        authorParameters = new BookSearchParameters(
+                null, new String[] {"Author 1", "Author 2"}, null, null, null, null, null, null);
+        allParameters = new BookSearchParameters(
+                new String[] {"Book 1", "Book 2", "Book 3"},
+                new String[] {"Author 1", "Author 2"},
+                new String[] {"9780000000001"},
+                new Long[] {1L, 2L},
+                new Long[] {3L, 4L},
+                new Long[] {5L},
+                BigDecimal.TEN,
+                BigDecimal.valueOf(50));
+    }
+
+    @Benchmark
+    public Specification<Book> buildWithoutParameters() {
+        return bookSpecificationBuilder.build(noParameters);
+    }
+
+    @Benchmark
+    public Specification<Book> buildByAuthor() {
+        return bookSpecificationBuilder.build(authorParameters);
+    }
+
+    @Benchmark
+    public Specification<Book> buildByAllParameters() {
+        return bookSpecificationBuilder.build(allParameters);
+    }
+}
@@ -0,0 +1,78 @@
+package store.bookstoreapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import store.bookstoreapp.dto.book.BookDto;
+import store.bookstoreapp.dto.order.OrderDto;
+import store.bookstoreapp.dto.orderitem.OrderItemDto;
+import store.bookstoreapp.mapper.impl.BookMapperImpl;
+import store.bookstoreapp.model.Order;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final int ORDER_ITEMS = 5;
+
+    private ObjectMapper objectMapper;
+    private BookDto bookDto;
+    private List<BookDto> bookPage;
+    private OrderDto orderDto;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        BookMapperImpl bookMapper = new BookMapperImpl();
+        bookDto = bookMapper.toDto(MapperBenchmark.book(1L));
+        bookPage = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            bookPage.add(bookMapper.toDto(MapperBenchmark.book(id)));
+        }
+        List<OrderItemDto> orderItems = new ArrayList<>();
+        for (long id = 1; id <= ORDER_ITEMS; id++) {
+            orderItems.add(new OrderItemDto(id, id, 2));
+        }
+        orderDto = new OrderDto();
+        orderDto.setId(1L);
+        orderDto.setUserId(1L);
+        orderDto.setOrderItems(orderItems);
+        orderDto.setOrderDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+        orderDto.setTotal(BigDecimal.valueOf(19990, 2));
+        orderDto.setStatus(Order.Status.PENDING);
+    }
+
+    @Benchmark
+    public byte[] writeBook() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookDto);
+    }
+
+    @Benchmark
+    public byte[] writeBookPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookPage);
+    }
+
+    @Benchmark
+    public byte[] writeOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderDto);
+    }
+}
@@ -0,0 +1,69 @@
+package store.bookstoreapp.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import store.bookstoreapp.model.Role;
+import store.bookstoreapp.model.User;
+import store.bookstoreapp.security.JwtUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtUtilBenchmark {
+    private static final String SECRET = "p1tbookstoreappsomerandomsymholstokey1231488p1t";
+    private static final long EXPIRATION = 1000000L;
+
+    private Key key;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtUtil = new JwtUtil(SECRET, EXPIRATION);
+        Role role = new Role();
+        role.setName(Role.RoleName.ROLE_USER);
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("user@example.com");
+        user.setRoles(Set.of(role));
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseOnce() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public String parseTwiceWithNewParsers() {
+        Claims validated = Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token).getBody();
+        if (validated.getExpiration().before(new Date())) {
+            throw new IllegalStateException("Expired token");
+        }
+        return Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+}
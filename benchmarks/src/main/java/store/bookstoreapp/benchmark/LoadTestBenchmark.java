@@ -0,0 +1,172 @@
+package store.bookstoreapp.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import store.bookstoreapp.dto.cartitem.CartItemRequestDto;
+import store.bookstoreapp.dto.order.ShoppingAddressDto;
+import store.bookstoreapp.dto.user.UserLoginRequestDto;
+import store.bookstoreapp.dto.user.UserLoginResponseDto;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class LoadTestBenchmark {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private static final AtomicInteger NEXT_USER = new AtomicInteger();
+    private static final String[] WORDS = {"java", "spring", "history", "garden", "ocean",
+            "mystery", "cooking", "travel", "science", "poetry", "music", "design",
+            "mountain", "city", "winter", "dragon"};
+    private static final int PAGE_SIZE = 20;
+
+    @Benchmark
+    @Group("shop")
+    @GroupThreads(8)
+    public int browseBooks(Shopper shopper) throws IOException, InterruptedException {
+        int page = ThreadLocalRandom.current().nextInt(Math.max(1, shopper.books / PAGE_SIZE));
+        return shopper.send(shopper.request("/api/books?page=" + page + "&size=" + PAGE_SIZE)
+                .GET());
+    }
+
+    @Benchmark
+    @Group("shop")
+    @GroupThreads(8)
+    public int viewBook(Shopper shopper) throws IOException, InterruptedException {
+        return shopper.send(shopper.request("/api/books/" + shopper.randomBookId()).GET());
+    }
+
+    @Benchmark
+    @Group("shop")
+    @GroupThreads(4)
+    public int searchBooks(Shopper shopper) throws IOException, InterruptedException {
+        String word = WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+        return shopper.send(shopper.request("/api/books/search?q=" + word + "&size=" + PAGE_SIZE)
+                .GET());
+    }
+
+    @Benchmark
+    @Group("shop")
+    @GroupThreads(4)
+    public int addToCart(Shopper shopper) throws IOException, InterruptedException {
+        return shopper.send(shopper.request("/api/cart")
+                .POST(shopper.json(new CartItemRequestDto(shopper.randomBookId(), 1))));
+    }
+
+    @Benchmark
+    @Group("shop")
+    @GroupThreads(2)
+    public int checkout(CheckoutShopper shopper) throws IOException, InterruptedException {
+        return shopper.send(shopper.request("/api/orders")
+                .POST(shopper.json(new ShoppingAddressDto("Load test street 1"))));
+    }
+
+    @Benchmark
+    @Group("shop")
+    @GroupThreads(4)
+    public int orderHistory(Shopper shopper) throws IOException, InterruptedException {
+        return shopper.send(shopper.request("/api/orders?page=0&size=10").GET());
+    }
+
+    @State(Scope.Thread)
+    public static class Shopper {
+        @Param("http://localhost:8080")
+        public String baseUrl;
+        @Param("100")
+        public int users;
+        @Param("LoadTest1")
+        public String password;
+        @Param("10000")
+        public int books;
+
+        private long firstBookId;
+        private String token;
+
+        @Setup(Level.Trial)
+        public void login() throws IOException, InterruptedException {
+            String email = String.format("loadtest-user-%d@example.com",
+                    NEXT_USER.getAndIncrement() % users + 1);
+            UserLoginRequestDto loginRequest = new UserLoginRequestDto(email, password);
+            HttpResponse<String> response = HTTP_CLIENT.send(
+                    request("/api/auth/login").POST(json(loginRequest)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            while (response.statusCode() == 503) {
+                Thread.sleep(response.headers().firstValueAsLong("Retry-After").orElse(1) * 1000);
+                response = HTTP_CLIENT.send(
+                        request("/api/auth/login").POST(json(loginRequest)).build(),
+                        HttpResponse.BodyHandlers.ofString());
+            }
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException("Can't log in " + email + ": "
+                        + response.statusCode() + " " + response.body()
+                        + ". Is the application running with the loadtest profile?");
+            }
+            token = OBJECT_MAPPER.readValue(response.body(), UserLoginResponseDto.class).token();
+            JsonNode firstBook = OBJECT_MAPPER.readTree(HTTP_CLIENT.send(
+                    request("/api/books?page=0&size=1&sort=id").GET().build(),
+                    HttpResponse.BodyHandlers.ofString()).body());
+            if (firstBook.isEmpty()) {
+                throw new IllegalStateException("The load test needs books in " + baseUrl);
+            }
+            firstBookId = firstBook.get(0).get("id").asLong();
+        }
+
+        long randomBookId() {
+            return firstBookId + ThreadLocalRandom.current().nextInt(books);
+        }
+
+        HttpRequest.Builder request(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json");
+            return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+        }
+
+        HttpRequest.BodyPublisher json(Object body) throws IOException {
+            return HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(body));
+        }
+
+        int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+            int status = HTTP_CLIENT.send(request.build(), HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+            if (status >= 400) {
+                throw new IllegalStateException(request.build().uri() + " answered " + status);
+            }
+            return status;
+        }
+    }
+
+    public static class CheckoutShopper extends Shopper {
+        @Setup(Level.Invocation)
+        public void fillCart() throws IOException, InterruptedException {
+            send(request("/api/cart").POST(json(new CartItemRequestDto(randomBookId(), 1))));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package store.bookstoreapp.benchmark;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import store.bookstoreapp.dto.book.BookDto;
+import store.bookstoreapp.dto.book.CreateBookRequestDto;
+import store.bookstoreapp.dto.shoppingcart.ShoppingCartDto;
+import store.bookstoreapp.mapper.BookMapper;
+import store.bookstoreapp.mapper.ShoppingCartMapper;
+import store.bookstoreapp.mapper.impl.BookMapperImpl;
+import store.bookstoreapp.mapper.impl.CartItemMapperImpl;
+import store.bookstoreapp.mapper.impl.ShoppingCartMapperImpl;
+import store.bookstoreapp.model.Book;
+import store.bookstoreapp.model.CartItem;
+import store.bookstoreapp.model.Category;
+import store.bookstoreapp.model.ShoppingCart;
+import store.bookstoreapp.model.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"1", "20"})
+    private int cartItems;
+
+    private BookMapper bookMapper;
+    private ShoppingCartMapper shoppingCartMapper;
+    private Book book;
+    private CreateBookRequestDto requestDto;
+    private ShoppingCart shoppingCart;
+
+    @Setup
+    public void setUp() {
+        bookMapper = new BookMapperImpl();
+        shoppingCartMapper = new ShoppingCartMapperImpl(new CartItemMapperImpl());
+        book = book(1L);
+        requestDto = new CreateBookRequestDto();
+        requestDto.setTitle(book.getTitle());
+        requestDto.setAuthor(book.getAuthor());
+        requestDto.setIsbn(book.getIsbn());
+        requestDto.setPrice(book.getPrice());
+        requestDto.setDescription(book.getDescription());
+        requestDto.setCoverImage(book.getCoverImage());
+        User user = new User();
+        user.setId(1L);
+        shoppingCart = new ShoppingCart();
+        shoppingCart.setId(1L);
+        shoppingCart.setUser(user);
+        Set<CartItem> items = new HashSet<>();
+        for (long id = 1; id <= cartItems; id++) {
+            CartItem cartItem = new CartItem();
+            cartItem.setId(id);
+            cartItem.setShoppingCart(shoppingCart);
+            cartItem.setBook(book(id));
+            cartItem.setQuantity(2);
+            items.add(cartItem);
+        }
+        shoppingCart.setCartItems(items);
+    }
+
+    @Benchmark
+    public BookDto bookToDto() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public Book requestToBook() {
+        return bookMapper.toModel(requestDto);
+    }
+
+    @Benchmark
+    public ShoppingCartDto shoppingCartToDto() {
+        return shoppingCartMapper.toDto(shoppingCart);
+    }
+
+    static Book book(long id) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Book " + id);
+        book.setAuthor("Author " + id % 10);
+        book.setIsbn(String.format("978%010d", id));
+        book.setPrice(BigDecimal.valueOf(1999, 2));
+        book.setDescription("Description of book " + id);
+        book.setCoverImage("https://example.com/covers/" + id + ".jpg");
+        for (long categoryId = 1; categoryId <= 3; categoryId++) {
+            Category category = new Category();
+            category.setId(categoryId);
+            category.setName("Category " + categoryId);
+            book.getCategories().add(category);
+        }
+        return book;
+    }
+}
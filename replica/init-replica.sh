@@ -0,0 +1,16 @@
+#!/bin/bash
+mysql -uroot -p"$MYSQL_ROOT_PASSWORD" <<SQL
+SET SESSION sql_log_bin = 0;
+CREATE USER '$MYSQL_READER_USER'@'%' IDENTIFIED BY '$MYSQL_READER_PASSWORD';
+GRANT SELECT ON \`$MYSQL_DATABASE\`.* TO '$MYSQL_READER_USER'@'%';
+GRANT REPLICATION CLIENT ON *.* TO '$MYSQL_READER_USER'@'%';
+SET SESSION sql_log_bin = 1;
+CHANGE REPLICATION SOURCE TO
+    SOURCE_HOST='mysqldb',
+    SOURCE_USER='$MYSQL_REPLICATION_USER',
+    SOURCE_PASSWORD='$MYSQL_REPLICATION_PASSWORD',
+    SOURCE_AUTO_POSITION=1,
+    SOURCE_CONNECT_RETRY=5,
+    GET_SOURCE_PUBLIC_KEY=1;
+START REPLICA;
+SQL
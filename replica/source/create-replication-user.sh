@@ -0,0 +1,6 @@
+#!/bin/bash
+mysql -uroot -p"$MYSQL_ROOT_PASSWORD" <<SQL
+SET SESSION sql_log_bin = 0;
+CREATE USER '$MYSQL_REPLICATION_USER'@'%' IDENTIFIED BY '$MYSQL_REPLICATION_PASSWORD';
+GRANT REPLICATION SLAVE ON *.* TO '$MYSQL_REPLICATION_USER'@'%';
+SQL
@@ -0,0 +1,105 @@
+package store.bookstoreapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import store.bookstoreapp.datasource.ReadYourWritesFilter;
+import store.bookstoreapp.datasource.ReplicaLagMonitor;
+import store.bookstoreapp.datasource.ReplicaRoutingDataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+public class DataSourceConfig {
+    @Value("${datasource.replicas.urls}")
+    private List<String> replicaUrls;
+    @Value("${datasource.replicas.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+    @Value("${datasource.replicas.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+    @Value("${datasource.replicas.max-lag:5s}")
+    private Duration maxLag;
+    @Value("${datasource.replicas.lag-check-interval:1s}")
+    private Duration lagCheckInterval;
+    @Value("${datasource.replicas.lag-query:SHOW REPLICA STATUS}")
+    private String lagQuery;
+    @Value("${datasource.replicas.lag-column:Seconds_Behind_Source}")
+    private String lagColumn;
+    @Value("${datasource.replicas.read-your-writes-window:10s}")
+    private Duration readYourWritesWindow;
+    @Value("${datasource.replicas.read-your-writes-secret:${jwt.secret}}")
+    private String readYourWritesSecret;
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            ReadYourWritesFilter readYourWritesFilter
+    ) {
+        HikariDataSource primary = pool(properties, ReplicaRoutingDataSource.PRIMARY,
+                properties.determineUrl(), properties.determineUsername(),
+                properties.determinePassword(), meterRegistry);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource replica = pool(properties, name, replicaUrls.get(i).trim(),
+                    replicaUsername, replicaPassword, meterRegistry);
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+        ReplicaLagMonitor replicaLagMonitor = new ReplicaLagMonitor(
+                replicas, lagQuery, lagColumn, maxLag, meterRegistry);
+        replicaLagMonitor.start(lagCheckInterval);
+        return new ReplicaRoutingDataSource(
+                primary, replicas, replicaLagMonitor, readYourWritesFilter);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter(readYourWritesSecret, readYourWritesWindow);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer connectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private HikariDataSource pool(
+            DataSourceProperties properties,
+            String name,
+            String url,
+            String username,
+            String password,
+            MeterRegistry meterRegistry
+    ) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName(name);
+        dataSource.setMetricRegistry(meterRegistry);
+        return dataSource;
+    }
+}
@@ -0,0 +1,18 @@
+package store.bookstoreapp.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import store.bookstoreapp.monitoring.RequestStatementsFilter;
+
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public HibernatePropertiesCustomizer statementsInspectorCustomizer(
+            RequestStatementsFilter requestStatementsFilter
+    ) {
+        return properties -> properties.putIfAbsent(
+                AvailableSettings.STATEMENT_INSPECTOR, requestStatementsFilter);
+    }
+}
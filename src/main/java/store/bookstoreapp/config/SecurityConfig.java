@@ -1,6 +1,8 @@
 package store.bookstoreapp.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,12 +11,12 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import store.bookstoreapp.security.CustomUserDetailsService;
 import store.bookstoreapp.security.JwtAuthenticationFilter;
+import store.bookstoreapp.security.TimedBCryptPasswordEncoder;
 
 @EnableMethodSecurity
 @Configuration
@@ -24,8 +26,11 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.bcrypt.strength:10}") int strength,
+            MeterRegistry meterRegistry
+    ) {
+        return new TimedBCryptPasswordEncoder(strength, meterRegistry);
     }
 
     @Bean
@@ -43,6 +48,12 @@ public class SecurityConfig {
                                         "/swagger-resources/**"
                                 )
                                 .permitAll()
+                                .requestMatchers("/livez", "/readyz")
+                                .permitAll()
+                                .requestMatchers("/actuator/health", "/actuator/prometheus")
+                                .permitAll()
+                                .requestMatchers("/actuator/**")
+                                .hasRole("ADMIN")
                                 .anyRequest()
                                 .authenticated()
                 )
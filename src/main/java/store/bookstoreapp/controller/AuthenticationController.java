@@ -1,5 +1,6 @@
 package store.bookstoreapp.controller;
 
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ import store.bookstoreapp.service.UserService;
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(value = "/api/auth")
+@Timed(value = "bookstore.controller", histogram = true)
 public class AuthenticationController {
     private final UserService userService;
     private final AuthenticationService authenticationService;
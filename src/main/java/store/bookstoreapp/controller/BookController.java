@@ -1,12 +1,17 @@
 package store.bookstoreapp.controller;
 
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,19 +21,30 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import store.bookstoreapp.dto.book.BookDto;
+import store.bookstoreapp.dto.book.BookFileFormat;
+import store.bookstoreapp.dto.book.BookImportResultDto;
+import store.bookstoreapp.dto.book.BookSearchResultDto;
 import store.bookstoreapp.dto.book.CreateBookRequestDto;
+import store.bookstoreapp.dto.page.CursorPageDto;
 import store.bookstoreapp.search.BookSearchParameters;
+import store.bookstoreapp.service.BookExportService;
+import store.bookstoreapp.service.BookImportService;
 import store.bookstoreapp.service.BookService;
 
 @Tag(name = "Book management", description = "Endpoints for managing books")
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(value = "/api/books")
+@Timed(value = "bookstore.controller", histogram = true)
 public class BookController {
     private final BookService bookService;
+    private final BookExportService bookExportService;
+    private final BookImportService bookImportService;
 
     @GetMapping
     @Operation(summary = "Get all books", description = "Get a list of all not deleted books")
@@ -41,21 +57,100 @@ public class BookController {
         return bookService.findAll(pageable);
     }
 
+    @GetMapping(params = "after")
+    @Operation(summary = "Get all books by cursor",
+            description = "Get a page of not deleted books after the given cursor."
+                    + " Pass an empty cursor for the first page and nextCursor"
+                    + " of the response for the following ones")
+    @Parameter(name = "after", description = "cursor returned by the previous page",
+            required = true, example = "")
+    @Parameter(name = "size", description = "describes count element per page", example = "20")
+    @Parameter(name = "sort", description = "seek key: id or price", example = "price")
+    public CursorPageDto<BookDto> getAll(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort
+    ) {
+        return bookService.findAll(after, sort, size);
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get book by id", description = "Get a single book by id key")
-    public BookDto getBookById(@PathVariable Long id) {
-        return bookService.findBookById(id);
+    @Operation(summary = "Get book by id", description = "Get a single book by id key."
+            + " Answers 304 Not Modified when If-None-Match holds the current ETag")
+    public BookDto getBookById(@PathVariable Long id, WebRequest request) {
+        BookDto book = bookService.findBookById(id);
+        if (request.checkNotModified(book.getEtag(), book.getLastModified())) {
+            return null;
+        }
+        return book;
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search book for specific parameters",
             description = "Get a list of books, which meet certain params."
-                    + " Available search params isbns, titles, authors"
-                    + " also can use pageable (see getAll doc)")
+                    + " Available search params isbns, titles, authors, categoryIds (all of),"
+                    + " anyCategoryIds (any of), excludedCategoryIds (none of), minPrice and"
+                    + " maxPrice (inclusive) also can use pageable (see getAll doc)")
     public List<BookDto> search(BookSearchParameters searchParameters, Pageable pageable) {
         return bookService.search(searchParameters, pageable);
     }
 
+    @GetMapping(value = "/search", params = "q")
+    @Operation(summary = "Full-text search of books",
+            description = "Get a list of books ranked by relevance of their title, author"
+                    + " and description to the query. Every word of the query has to match"
+                    + " a word of the book or its beginning, also can use pageable"
+                    + " (see getAll doc)")
+    @Parameter(name = "q", description = "search query", required = true, example = "harry pot")
+    public List<BookDto> search(@RequestParam("q") String query, Pageable pageable) {
+        return bookService.search(query, pageable);
+    }
+
+    @GetMapping(value = "/search", params = {"facets=true", "!q"})
+    @Operation(summary = "Search books with facet counts",
+            description = "Same as the parameter search, also returns the number of all matching"
+                    + " books per category, the most frequent authors and price buckets")
+    @Parameter(name = "facets", description = "include facet counts", required = true,
+            example = "true")
+    public BookSearchResultDto searchWithFacets(
+            BookSearchParameters searchParameters,
+            Pageable pageable
+    ) {
+        return bookService.searchWithFacets(searchParameters, pageable);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/export")
+    @Operation(summary = "Export all books",
+            description = "Stream all not deleted books with their category ids as ndjson or csv")
+    @Parameter(name = "format", description = "ndjson or csv, default value = ndjson",
+            example = "csv")
+    public void export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        BookFileFormat fileFormat = BookFileFormat.of(format);
+        response.setContentType(fileFormat.getMediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books."
+                + fileFormat.name().toLowerCase() + "\"");
+        bookExportService.export(fileFormat, response.getOutputStream());
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/import")
+    @Operation(summary = "Import books",
+            description = "Insert books streamed as ndjson or csv (columns of the export) in"
+                    + " batches. Books with an already known isbn are counted as duplicates"
+                    + " and skipped, invalid rows are reported with their row number")
+    @Parameter(name = "format", description = "ndjson or csv, default value = ndjson",
+            example = "csv")
+    public BookImportResultDto importBooks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request
+    ) throws IOException {
+        return bookImportService.importBooks(BookFileFormat.of(format), request.getInputStream());
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("/{id}")
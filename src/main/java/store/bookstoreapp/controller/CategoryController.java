@@ -1,5 +1,6 @@
 package store.bookstoreapp.controller;
 
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,11 +17,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import store.bookstoreapp.dto.book.BookDtoWithoutCategoryIds;
 import store.bookstoreapp.dto.category.CategoryDto;
 import store.bookstoreapp.dto.category.CategoryRequestDto;
+import store.bookstoreapp.dto.page.CursorPageDto;
+import store.bookstoreapp.dto.version.VersionStamp;
 import store.bookstoreapp.service.BookService;
 import store.bookstoreapp.service.CategoryService;
 
@@ -28,6 +33,7 @@ import store.bookstoreapp.service.CategoryService;
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(value = "/api/categories")
+@Timed(value = "bookstore.controller", histogram = true)
 public class CategoryController {
     private final CategoryService categoryService;
     private final BookService bookService;
@@ -46,15 +52,23 @@ public class CategoryController {
     @GetMapping
     @Operation(
             summary = "Get all categories",
-            description = "Get a list of all not deleted categories"
+            description = "Get a list of all not deleted categories."
+                    + " Answers 304 Not Modified when If-None-Match holds the current ETag"
     )
-    public List<CategoryDto> getAll(Pageable pageable) {
+    public List<CategoryDto> getAll(Pageable pageable, WebRequest request) {
+        if (isNotModified(categoryService.getVersionStamp(), request)) {
+            return null;
+        }
         return categoryService.findAll(pageable);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get category by id", description = "Get a single category by id key")
-    public CategoryDto getCategoryById(@PathVariable Long id) {
+    @Operation(summary = "Get category by id", description = "Get a single category by id key."
+            + " Answers 304 Not Modified when If-None-Match holds the current ETag")
+    public CategoryDto getCategoryById(@PathVariable Long id, WebRequest request) {
+        if (isNotModified(categoryService.getVersionStamp(id), request)) {
+            return null;
+        }
         return categoryService.getById(id);
     }
 
@@ -82,12 +96,40 @@ public class CategoryController {
     @GetMapping("/{id}/books")
     @Operation(
             summary = "Get all book by category id",
-            description = "Get all book which related with some specified category"
+            description = "Get all book which related with some specified category."
+                    + " Answers 304 Not Modified when If-None-Match holds the current ETag"
     )
     public List<BookDtoWithoutCategoryIds> getBookByCategoryId(
             @PathVariable Long id,
-            Pageable pageable
+            Pageable pageable,
+            WebRequest request
     ) {
+        if (isNotModified(bookService.getVersionStampByCategoryId(id), request)) {
+            return null;
+        }
         return bookService.getBookByCategoryId(id, pageable);
     }
+
+    @GetMapping(value = "/{id}/books", params = "after")
+    @Operation(
+            summary = "Get all book by category id and cursor",
+            description = "Get a page of books related with some specified category"
+                    + " after the given cursor, pass an empty cursor for the first page"
+    )
+    public CursorPageDto<BookDtoWithoutCategoryIds> getBookByCategoryId(
+            @PathVariable Long id,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            WebRequest request
+    ) {
+        if (isNotModified(bookService.getVersionStampByCategoryId(id), request)) {
+            return null;
+        }
+        return bookService.getBookByCategoryId(id, after, sort, size);
+    }
+
+    private boolean isNotModified(VersionStamp versionStamp, WebRequest request) {
+        return request.checkNotModified(versionStamp.getEtag(), versionStamp.getLastModified());
+    }
 }
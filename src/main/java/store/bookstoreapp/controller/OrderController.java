@@ -1,5 +1,6 @@
 package store.bookstoreapp.controller;
 
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -8,24 +9,28 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import store.bookstoreapp.dto.order.OrderDto;
 import store.bookstoreapp.dto.order.OrderStatusDto;
 import store.bookstoreapp.dto.order.ShoppingAddressDto;
 import store.bookstoreapp.dto.orderitem.OrderItemDto;
+import store.bookstoreapp.dto.page.CursorPageDto;
+import store.bookstoreapp.model.User;
 import store.bookstoreapp.service.OrderService;
 
 @Tag(name = "Order management", description = "Endpoints for managing orders")
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(value = "/api/orders")
+@Timed(value = "bookstore.controller", histogram = true)
 public class OrderController {
     private final OrderService orderService;
 
@@ -35,16 +40,32 @@ public class OrderController {
     @Parameter(name = "shippingAddress", description = "Address for shipping")
     public OrderDto placeOrder(
             @RequestBody @Valid ShoppingAddressDto addressDto,
-            Authentication authentication
+            @AuthenticationPrincipal User user
     ) {
-        return orderService.placeOrder(addressDto.shippingAddress(), authentication.getName());
+        return orderService.placeOrder(addressDto.shippingAddress(), user.getId());
     }
 
     @GetMapping
     @Operation(summary = "get all orders for some user",
             description = "Get list of the orders for specific user")
-    public List<OrderDto> getAllOrders(Authentication authentication, Pageable pageable) {
-        return orderService.getAllOrders(authentication.getName(), pageable);
+    public List<OrderDto> getAllOrders(@AuthenticationPrincipal User user, Pageable pageable) {
+        return orderService.getAllOrders(user.getId(), pageable);
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "get orders for some user by cursor",
+            description = "Get a page of the user's orders, newest first, after the given cursor."
+                    + " Pass an empty cursor for the first page and nextCursor"
+                    + " of the response for the following ones")
+    @Parameter(name = "after", description = "cursor returned by the previous page",
+            required = true, example = "")
+    @Parameter(name = "size", description = "describes count element per page", example = "20")
+    public CursorPageDto<OrderDto> getAllOrders(
+            @AuthenticationPrincipal User user,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return orderService.getAllOrders(user.getId(), after, size);
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -66,8 +87,8 @@ public class OrderController {
     @Operation(summary = "get all items in some order",
             description = "get list of order items")
     public List<OrderItemDto> getOrderItems(@PathVariable Long orderId,
-                                            Authentication authentication) {
-        return orderService.getOrderItems(orderId, authentication.getName());
+                                            @AuthenticationPrincipal User user) {
+        return orderService.getOrderItems(orderId, user.getId());
     }
 
     @GetMapping(value = "/{orderId}/items/{orderItemId}")
@@ -76,8 +97,8 @@ public class OrderController {
     public OrderItemDto getOrderItem(
             @PathVariable Long orderId,
             @PathVariable Long orderItemId,
-            Authentication authentication
+            @AuthenticationPrincipal User user
     ) {
-        return orderService.getOrderItem(orderId, orderItemId, authentication.getName());
+        return orderService.getOrderItem(orderId, orderItemId, user.getId());
     }
 }
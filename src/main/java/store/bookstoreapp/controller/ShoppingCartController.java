@@ -1,12 +1,13 @@
 package store.bookstoreapp.controller;
 
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,43 +19,62 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import store.bookstoreapp.dto.cartitem.CartItemDto;
 import store.bookstoreapp.dto.cartitem.CartItemRequestDto;
+import store.bookstoreapp.dto.cartitem.CartItemsRequestDto;
 import store.bookstoreapp.dto.cartitem.QuantityDto;
 import store.bookstoreapp.dto.shoppingcart.ShoppingCartDto;
+import store.bookstoreapp.dto.shoppingcart.ShoppingCartSummaryDto;
+import store.bookstoreapp.model.User;
 import store.bookstoreapp.service.ShoppingCartService;
 
 @Tag(name = "Shopping cart management", description = "Endpoints for managing shopping cart")
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(value = "/api/cart")
+@Timed(value = "bookstore.controller", histogram = true)
 public class ShoppingCartController {
     private final ShoppingCartService shoppingCartService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Add book to shopping cart",
-            description = "Create new cart item with book and quantity")
+            description = "Add the quantity to the cart item of the book, creating it when"
+                    + " the book isn't in the cart yet, and return the cart totals")
     @Parameter(name = "bookId", description = "id of the book",
             required = true, example = "1")
     @Parameter(name = "quantity", description = "quantity of this book",
             required = true, example = "5")
-    public ShoppingCartDto addBookToShoppingCart(
+    public ShoppingCartSummaryDto addBookToShoppingCart(
             @RequestBody @Valid CartItemRequestDto requestDto,
-            Authentication authentication) {
-        return shoppingCartService.addBookToShoppingCart(requestDto, authentication.getName());
+            @AuthenticationPrincipal User user) {
+        return shoppingCartService.addBookToShoppingCart(requestDto, user.getId());
+    }
+
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Add many books to shopping cart",
+            description = "Add the quantities of all listed books in one batched write"
+                    + " and return the updated shopping cart")
+    public ShoppingCartDto addBooksToShoppingCart(
+            @RequestBody @Valid CartItemsRequestDto requestDto,
+            @AuthenticationPrincipal User user) {
+        return shoppingCartService.addBooksToShoppingCart(requestDto, user.getId());
     }
 
     @GetMapping
     @Operation(summary = "Get user shopping cart",
             description = "Get shopping cart id with cart items inside")
-    public ShoppingCartDto getShoppingCart(Authentication authentication) {
-        return shoppingCartService.getShoppingCart(authentication.getName());
+    public ShoppingCartDto getShoppingCart(@AuthenticationPrincipal User user) {
+        return shoppingCartService.getShoppingCart(user.getId());
     }
 
     @DeleteMapping("/cart-items/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "Delete cart item", description = "Delete cart item from shopping cart")
-    public void deleteItemFromShoppingCart(@PathVariable Long id, Authentication authentication) {
-        shoppingCartService.deleteItemFromShoppingCart(id, authentication.getName());
+    public void deleteItemFromShoppingCart(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User user
+    ) {
+        shoppingCartService.deleteItemFromShoppingCart(id, user.getId());
     }
 
     @PutMapping("/cart-items/{id}")
@@ -63,12 +83,12 @@ public class ShoppingCartController {
     public CartItemDto updateQuantity(
             @PathVariable Long id,
             @RequestBody @Valid QuantityDto quantity,
-            Authentication authentication
+            @AuthenticationPrincipal User user
     ) {
         return shoppingCartService.updateQuantity(
                 id,
                 quantity.quantity(),
-                authentication.getName()
+                user.getId()
         );
     }
 }
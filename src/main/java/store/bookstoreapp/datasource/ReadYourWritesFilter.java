@@ -0,0 +1,125 @@
+package store.bookstoreapp.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String COOKIE_NAME = "last-write";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final ThreadLocal<RequestState> CURRENT = new ThreadLocal<>();
+
+    private final SecretKeySpec key;
+    private final Duration window;
+
+    public ReadYourWritesFilter(String secret, Duration window) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.window = window;
+    }
+
+    public boolean isRecentWriter() {
+        RequestState state = CURRENT.get();
+        return state != null && state.recentWriter;
+    }
+
+    public void recordWrite() {
+        RequestState state = CURRENT.get();
+        if (state == null || state.cookieSet) {
+            return;
+        }
+        state.recentWriter = true;
+        if (!state.response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE_NAME, sign(System.currentTimeMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setSecure(state.secure);
+            cookie.setMaxAge((int) window.toSeconds());
+            cookie.setAttribute("SameSite", "Lax");
+            state.response.addCookie(cookie);
+            state.cookieSet = true;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        CURRENT.set(new RequestState(response, request.isSecure(), isRecent(request)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    String sign(long writtenAt) {
+        return writtenAt + "." + signature(String.valueOf(writtenAt));
+    }
+
+    private boolean isRecent(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName()) && isRecent(cookie.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isRecent(String value) {
+        int separator = value.indexOf('.');
+        if (separator < 0) {
+            return false;
+        }
+        String writtenAt = value.substring(0, separator);
+        byte[] expected = signature(writtenAt).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = value.substring(separator + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return false;
+        }
+        try {
+            return System.currentTimeMillis() - Long.parseLong(writtenAt) < window.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private String signature(String value) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(value.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Can't sign the last write time", e);
+        }
+    }
+
+    private static class RequestState {
+        private final HttpServletResponse response;
+        private final boolean secure;
+        private boolean recentWriter;
+        private boolean cookieSet;
+
+        RequestState(HttpServletResponse response, boolean secure, boolean recentWriter) {
+            this.response = response;
+            this.secure = secure;
+            this.recentWriter = recentWriter;
+        }
+    }
+}
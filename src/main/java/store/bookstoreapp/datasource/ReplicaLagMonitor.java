@@ -0,0 +1,99 @@
+package store.bookstoreapp.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+    private static final String LAG_GAUGE = "datasource.replica.lag";
+
+    private final Map<String, DataSource> replicas;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final Duration maxLag;
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> available = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-monitor");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    public ReplicaLagMonitor(
+            Map<String, DataSource> replicas,
+            String lagQuery,
+            String lagColumn,
+            Duration maxLag,
+            MeterRegistry meterRegistry
+    ) {
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLag = maxLag;
+        replicas.keySet().forEach(replica -> Gauge.builder(LAG_GAUGE, lagSeconds,
+                        lags -> lags.getOrDefault(replica, Double.NaN))
+                .tag("replica", replica)
+                .baseUnit("seconds")
+                .register(meterRegistry));
+    }
+
+    public void start(Duration checkInterval) {
+        scheduler.scheduleWithFixedDelay(
+                this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isAvailable(String replica) {
+        return available.getOrDefault(replica, false);
+    }
+
+    public void check() {
+        replicas.forEach((replica, dataSource) -> {
+            Double lag = lag(replica, dataSource);
+            if (lag == null) {
+                lagSeconds.remove(replica);
+            } else {
+                lagSeconds.put(replica, lag);
+            }
+            boolean isAvailable = lag != null && lag <= maxLag.toSeconds();
+            Boolean wasAvailable = available.put(replica, isAvailable);
+            if (wasAvailable != null && wasAvailable != isAvailable) {
+                log.warn("Replica {} is {} (lag {}s, max {}s)", replica,
+                        isAvailable ? "back in rotation" : "out of rotation", lag,
+                        maxLag.toSeconds());
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private Double lag(String replica, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            long lag = resultSet.getLong(lagColumn);
+            return resultSet.wasNull() ? null : (double) lag;
+        } catch (SQLException e) {
+            log.debug("Can't read the lag of replica {}", replica, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package store.bookstoreapp.dto.book;
+
+public record AuthorFacetDto(String author, long count) {
+}
@@ -1,11 +1,14 @@
 package store.bookstoreapp.dto.book;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Set;
 import lombok.Data;
+import store.bookstoreapp.dto.version.VersionStamp;
 
 @Data
-public class BookDto {
+public class BookDto implements VersionStamp {
     private Long id;
     private String title;
     private String author;
@@ -14,4 +17,8 @@ public class BookDto {
     private String description;
     private String coverImage;
     private Set<Long> categoryIds;
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private LocalDateTime updatedAt;
 }
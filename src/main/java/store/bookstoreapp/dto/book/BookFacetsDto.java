@@ -0,0 +1,10 @@
+package store.bookstoreapp.dto.book;
+
+import java.util.List;
+
+public record BookFacetsDto(
+        long total,
+        List<CategoryFacetDto> categories,
+        List<AuthorFacetDto> authors,
+        List<PriceFacetDto> prices) {
+}
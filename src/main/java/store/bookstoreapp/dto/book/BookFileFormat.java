@@ -0,0 +1,27 @@
+package store.bookstoreapp.dto.book;
+
+import store.bookstoreapp.exception.UnsupportedFileFormatException;
+
+public enum BookFileFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    BookFileFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static BookFileFormat of(String format) {
+        for (BookFileFormat fileFormat : values()) {
+            if (fileFormat.name().equalsIgnoreCase(format)) {
+                return fileFormat;
+            }
+        }
+        throw new UnsupportedFileFormatException("Unsupported file format: " + format);
+    }
+}
@@ -0,0 +1,7 @@
+package store.bookstoreapp.dto.book;
+
+public record BookImportErrorDto(
+        long row,
+        String isbn,
+        String message) {
+}
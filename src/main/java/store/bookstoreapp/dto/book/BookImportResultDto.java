@@ -0,0 +1,10 @@
+package store.bookstoreapp.dto.book;
+
+import java.util.List;
+
+public record BookImportResultDto(
+        long imported,
+        long duplicates,
+        long rejected,
+        List<BookImportErrorDto> errors) {
+}
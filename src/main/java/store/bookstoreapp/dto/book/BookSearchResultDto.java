@@ -0,0 +1,8 @@
+package store.bookstoreapp.dto.book;
+
+import java.util.List;
+
+public record BookSearchResultDto(
+        List<BookDto> books,
+        BookFacetsDto facets) {
+}
@@ -0,0 +1,4 @@
+package store.bookstoreapp.dto.book;
+
+public record CategoryFacetDto(Long id, String name, long count) {
+}
@@ -0,0 +1,12 @@
+package store.bookstoreapp.dto.book;
+
+import java.util.HashSet;
+import java.util.Set;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ImportBookRequestDto extends CreateBookRequestDto {
+    private Set<Long> categoryIds = new HashSet<>();
+}
@@ -0,0 +1,6 @@
+package store.bookstoreapp.dto.book;
+
+import java.math.BigDecimal;
+
+public record PriceFacetDto(BigDecimal from, BigDecimal to, long count) {
+}
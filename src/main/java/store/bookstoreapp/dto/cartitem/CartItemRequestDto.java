@@ -1,10 +1,12 @@
 package store.bookstoreapp.dto.cartitem;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 public record CartItemRequestDto(
         @NotNull
         Long bookId,
         @NotNull
+        @Positive
         Integer quantity) {
 }
@@ -0,0 +1,13 @@
+package store.bookstoreapp.dto.cartitem;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record CartItemsRequestDto(
+        @NotEmpty
+        @Size(max = 100)
+        List<@Valid @NotNull CartItemRequestDto> cartItems) {
+}
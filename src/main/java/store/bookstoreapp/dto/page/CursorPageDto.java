@@ -0,0 +1,8 @@
+package store.bookstoreapp.dto.page;
+
+import java.util.List;
+
+public record CursorPageDto<T>(
+        List<T> content,
+        String nextCursor) {
+}
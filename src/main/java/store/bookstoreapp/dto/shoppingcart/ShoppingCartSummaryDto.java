@@ -0,0 +1,9 @@
+package store.bookstoreapp.dto.shoppingcart;
+
+public record ShoppingCartSummaryDto(
+        Long id,
+        Long bookId,
+        Integer quantity,
+        Long cartItems,
+        Long totalQuantity) {
+}
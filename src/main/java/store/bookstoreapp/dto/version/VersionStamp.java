@@ -0,0 +1,28 @@
+package store.bookstoreapp.dto.version;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+public interface VersionStamp {
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+
+    @JsonIgnore
+    default String getEtag() {
+        return getUpdatedAt() == null
+                ? String.valueOf(getVersion())
+                : getVersion() + "-" + ChronoUnit.MICROS.between(
+                        LocalDate.EPOCH.atStartOfDay(), getUpdatedAt());
+    }
+
+    @JsonIgnore
+    default long getLastModified() {
+        return getUpdatedAt() == null
+                ? -1
+                : getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,7 @@
+package store.bookstoreapp.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package store.bookstoreapp.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+@Getter
+public class LoginUnavailableException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public LoginUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,7 @@
+package store.bookstoreapp.exception;
+
+public class UnsupportedFileFormatException extends RuntimeException {
+    public UnsupportedFileFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,208 @@
+package store.bookstoreapp.loadtest;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestDataSeeder implements ApplicationRunner {
+    private static final String USER_EMAIL = "loadtest-user-%d@example.com";
+    private static final String USER_EMAIL_PATTERN = "loadtest-user-%@example.com";
+    private static final String SHIPPING_ADDRESS = "Load test street 1";
+    private static final String[] WORDS = {"java", "spring", "history", "garden", "ocean",
+            "mystery", "cooking", "travel", "science", "poetry", "music", "design",
+            "mountain", "city", "winter", "dragon"};
+    private static final String SEEDED_USERS_QUERY =
+            "SELECT COUNT(*) FROM users WHERE email LIKE ?";
+    private static final String INSERT_CATEGORY =
+            "INSERT INTO categories (name, description, is_deleted) VALUES (?, ?, false)";
+    private static final String CATEGORY_IDS_QUERY =
+            "SELECT id FROM categories WHERE is_deleted = false ORDER BY id";
+    private static final String INSERT_BOOK = "INSERT INTO books"
+            + " (title, author, isbn, price, description, cover_image, is_deleted)"
+            + " VALUES (?, ?, ?, ?, ?, ?, false)";
+    private static final String BOOK_IDS_QUERY =
+            "SELECT id FROM books WHERE is_deleted = false ORDER BY id";
+    private static final String INSERT_BOOK_CATEGORY =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)";
+    private static final String INSERT_USER = "INSERT INTO users"
+            + " (email, password, first_name, last_name, shipping_address, is_deleted)"
+            + " VALUES (?, ?, 'Load', 'Test', ?, false)";
+    private static final String USER_IDS_QUERY =
+            "SELECT id FROM users WHERE email LIKE ? ORDER BY id";
+    private static final String USER_ROLE_QUERY = "SELECT id FROM roles WHERE name = 'ROLE_USER'";
+    private static final String INSERT_USER_ROLE =
+            "INSERT INTO users_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String INSERT_SHOPPING_CART =
+            "INSERT INTO shopping_cards (id, user_id, is_deleted) VALUES (?, ?, false)";
+    private static final String INSERT_CART_ITEM = "INSERT INTO cards_items"
+            + " (shopping_cart_id, book_id, quantity, is_deleted) VALUES (?, ?, ?, false)";
+    private static final String INSERT_ORDER = "INSERT INTO orders"
+            + " (user_id, status, total, order_date, shipping_address, is_deleted)"
+            + " VALUES (?, 'COMPLETED', ?, ?, ?, false)";
+    private static final String ORDER_IDS_QUERY = "SELECT o.id FROM orders o"
+            + " JOIN users u ON u.id = o.user_id WHERE u.email LIKE ? ORDER BY o.id";
+    private static final String INSERT_ORDER_ITEM = "INSERT INTO orders_items"
+            + " (order_id, book_id, quantity, price, is_deleted) VALUES (?, ?, ?, ?, false)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    @Value("${loadtest.seed.categories:20}")
+    private int categories;
+    @Value("${loadtest.seed.books:10000}")
+    private int books;
+    @Value("${loadtest.seed.users:100}")
+    private int users;
+    @Value("${loadtest.seed.cart-items:3}")
+    private int cartItems;
+    @Value("${loadtest.seed.orders:5}")
+    private int orders;
+    @Value("${loadtest.seed.password:LoadTest1}")
+    private String password;
+    @Value("${loadtest.seed.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer seededUsers = jdbcTemplate.queryForObject(
+                SEEDED_USERS_QUERY, Integer.class, USER_EMAIL_PATTERN);
+        if (seededUsers != null && seededUsers > 0) {
+            log.info("Load test data is already seeded ({} users)", seededUsers);
+            return;
+        }
+        Random random = new Random(42);
+        List<Long> categoryIds = seedCategories();
+        List<Long> bookIds = seedBooks(random, categoryIds);
+        List<Long> userIds = seedUsers();
+        seedCarts(random, userIds, bookIds);
+        seedOrders(random, userIds, bookIds);
+        log.info("Seeded {} categories, {} books and {} users with password {}",
+                categoryIds.size(), bookIds.size(), userIds.size(), password);
+    }
+
+    private List<Long> seedCategories() {
+        List<Integer> numbers = numbers(categories);
+        jdbcTemplate.batchUpdate(INSERT_CATEGORY, numbers, batchSize, (statement, number) -> {
+            statement.setString(1, "Category " + number);
+            statement.setString(2, "Load test category " + number);
+        });
+        return jdbcTemplate.queryForList(CATEGORY_IDS_QUERY, Long.class);
+    }
+
+    private List<Long> seedBooks(Random random, List<Long> categoryIds) {
+        List<Integer> numbers = numbers(books);
+        jdbcTemplate.batchUpdate(INSERT_BOOK, numbers, batchSize, (statement, number) -> {
+            statement.setString(1, word(random) + " " + word(random) + " " + number);
+            statement.setString(2, "Author " + number % 500);
+            statement.setString(3, String.format("979%010d", number));
+            statement.setBigDecimal(4, BigDecimal.valueOf(100 + random.nextInt(9900), 2));
+            statement.setString(5, "A load test book about " + word(random));
+            statement.setString(6, "https://example.com/covers/" + number + ".jpg");
+        });
+        List<Long> bookIds = jdbcTemplate.queryForList(BOOK_IDS_QUERY, Long.class);
+        if (!categoryIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BOOK_CATEGORY, bookIds, batchSize,
+                    (statement, bookId) -> {
+                        statement.setLong(1, bookId);
+                        statement.setLong(2, categoryIds.get(random.nextInt(categoryIds.size())));
+                    });
+        }
+        return bookIds;
+    }
+
+    private List<Long> seedUsers() {
+        String passwordHash = passwordEncoder.encode(password);
+        List<Integer> numbers = numbers(users);
+        jdbcTemplate.batchUpdate(INSERT_USER, numbers, batchSize, (statement, number) -> {
+            statement.setString(1, String.format(USER_EMAIL, number));
+            statement.setString(2, passwordHash);
+            statement.setString(3, SHIPPING_ADDRESS);
+        });
+        List<Long> userIds = jdbcTemplate.queryForList(
+                USER_IDS_QUERY, Long.class, USER_EMAIL_PATTERN);
+        Long roleId = jdbcTemplate.queryForObject(USER_ROLE_QUERY, Long.class);
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userIds, batchSize, (statement, userId) -> {
+            statement.setLong(1, userId);
+            statement.setLong(2, roleId);
+        });
+        jdbcTemplate.batchUpdate(INSERT_SHOPPING_CART, userIds, batchSize,
+                (statement, userId) -> {
+                    statement.setLong(1, userId);
+                    statement.setLong(2, userId);
+                });
+        return userIds;
+    }
+
+    private void seedCarts(Random random, List<Long> userIds, List<Long> bookIds) {
+        List<long[]> items = new ArrayList<>();
+        for (Long userId : userIds) {
+            Set<Long> cartBookIds = new HashSet<>();
+            while (cartBookIds.size() < Math.min(cartItems, bookIds.size())) {
+                cartBookIds.add(bookIds.get(random.nextInt(bookIds.size())));
+            }
+            cartBookIds.forEach(bookId -> items.add(new long[] {userId, bookId}));
+        }
+        jdbcTemplate.batchUpdate(INSERT_CART_ITEM, items, batchSize,
+                (statement, item) -> {
+                    statement.setLong(1, item[0]);
+                    statement.setLong(2, item[1]);
+                    statement.setInt(3, 1);
+                });
+    }
+
+    private void seedOrders(Random random, List<Long> userIds, List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        List<Long> orderUserIds = new ArrayList<>();
+        for (Long userId : userIds) {
+            for (int i = 0; i < orders; i++) {
+                orderUserIds.add(userId);
+            }
+        }
+        LocalDateTime orderDate = LocalDateTime.now().minusDays(orders);
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orderUserIds, batchSize, (statement, userId) -> {
+            statement.setLong(1, userId);
+            statement.setBigDecimal(2, BigDecimal.valueOf(1999, 2));
+            statement.setTimestamp(3, Timestamp.valueOf(orderDate));
+            statement.setString(4, SHIPPING_ADDRESS);
+        });
+        List<Long> orderIds = jdbcTemplate.queryForList(
+                ORDER_IDS_QUERY, Long.class, USER_EMAIL_PATTERN);
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, orderIds, batchSize, (statement, orderId) -> {
+            statement.setLong(1, orderId);
+            statement.setLong(2, bookIds.get(random.nextInt(bookIds.size())));
+            statement.setInt(3, 1);
+            statement.setBigDecimal(4, BigDecimal.valueOf(1999, 2));
+        });
+    }
+
+    private List<Integer> numbers(int count) {
+        List<Integer> numbers = new ArrayList<>(count);
+        for (int number = 1; number <= count; number++) {
+            numbers.add(number);
+        }
+        return numbers;
+    }
+
+    private String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
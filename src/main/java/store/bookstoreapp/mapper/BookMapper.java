@@ -2,7 +2,6 @@ package store.bookstoreapp.mapper;
 
 import java.util.Set;
 import java.util.stream.Collectors;
-import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -16,24 +15,31 @@ import store.bookstoreapp.model.Category;
 @Mapper(config = MapperConfig.class)
 public interface BookMapper {
 
-    @Mapping(target = "categoryIds", ignore = true)
+    @Mapping(target = "categoryIds", source = "categories")
     BookDto toDto(Book book);
 
+    @Mapping(target = "categoryIds", source = "categoryIds")
+    BookDto toDto(Book book, Set<Long> categoryIds);
+
     @Mapping(target = "categories", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Book toModel(CreateBookRequestDto bookRequestDto);
 
     @Mapping(target = "categories", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Book toModel(BookDto bookDto);
 
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     void updateBookFromDto(CreateBookRequestDto requestDto, @MappingTarget Book book);
 
     BookDtoWithoutCategoryIds toDtoWithoutCategories(Book book);
 
-    @AfterMapping
-    default void setCategoryIds(@MappingTarget BookDto bookDto, Book book) {
-        Set<Long> categoryIds = book.getCategories().stream()
+    default Set<Long> toCategoryIds(Set<Category> categories) {
+        return categories.stream()
                 .map(Category::getId)
                 .collect(Collectors.toSet());
-        bookDto.setCategoryIds(categoryIds);
     }
 }
@@ -1,6 +1,7 @@
 package store.bookstoreapp.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import store.bookstoreapp.config.MapperConfig;
 import store.bookstoreapp.dto.category.CategoryDto;
@@ -11,7 +12,11 @@ import store.bookstoreapp.model.Category;
 public interface CategoryMapper {
     CategoryDto toDto(Category category);
 
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     void updateCategoryFromDto(CategoryRequestDto requestDto, @MappingTarget Category category);
 
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Category toModel(CategoryRequestDto requestDto);
 }
@@ -5,9 +5,13 @@ import org.mapstruct.Mapping;
 import store.bookstoreapp.config.MapperConfig;
 import store.bookstoreapp.dto.orderitem.OrderItemDto;
 import store.bookstoreapp.model.OrderItem;
+import store.bookstoreapp.repository.order.OrderHistoryRow;
 
 @Mapper(config = MapperConfig.class)
 public interface OrderItemMapper {
     @Mapping(source = "book.id", target = "bookId")
     OrderItemDto toDto(OrderItem orderItem);
+
+    @Mapping(source = "itemId", target = "id")
+    OrderItemDto toDto(OrderHistoryRow row);
 }
@@ -5,10 +5,14 @@ import org.mapstruct.Mapping;
 import store.bookstoreapp.config.MapperConfig;
 import store.bookstoreapp.dto.order.OrderDto;
 import store.bookstoreapp.model.Order;
+import store.bookstoreapp.repository.order.OrderHistoryRow;
 
 @Mapper(config = MapperConfig.class, uses = {OrderItemMapper.class})
 public interface OrderMapper {
     @Mapping(source = "user.id", target = "userId")
     @Mapping(source = "orderItems", target = "orderItems")
     OrderDto toDto(Order order);
+
+    @Mapping(target = "orderItems", expression = "java(new java.util.ArrayList<>())")
+    OrderDto toDto(OrderHistoryRow row);
 }
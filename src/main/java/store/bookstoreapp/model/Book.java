@@ -9,16 +9,20 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.Where;
 
 @Data
-@SQLDelete(sql = "UPDATE books SET is_deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE books SET is_deleted = true, version = version + 1,"
+        + " updated_at = CURRENT_TIMESTAMP(6) WHERE id = ? AND version = ?")
 @Where(clause = "is_deleted=false")
 @Entity
 @Table(name = "books")
@@ -38,6 +42,14 @@ public class Book {
     private String coverImage;
     @Column(nullable = false)
     private boolean isDeleted = false;
+    @Version
+    @EqualsAndHashCode.Exclude
+    @Column(nullable = false)
+    private Long version;
+    @UpdateTimestamp
+    @EqualsAndHashCode.Exclude
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
     @ManyToMany
     @EqualsAndHashCode.Exclude
     @JoinTable(
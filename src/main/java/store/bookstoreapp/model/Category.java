@@ -6,14 +6,18 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.Where;
 
 @Getter
 @Setter
-@SQLDelete(sql = "UPDATE categories SET is_deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE categories SET is_deleted = true, version = version + 1,"
+        + " updated_at = CURRENT_TIMESTAMP(6) WHERE id = ? AND version = ?")
 @Where(clause = "is_deleted=false")
 @Entity
 @Table(name = "categories")
@@ -26,4 +30,10 @@ public class Category {
     private String description;
     @Column(nullable = false)
     private boolean isDeleted = false;
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
 }
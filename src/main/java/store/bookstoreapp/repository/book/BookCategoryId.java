@@ -0,0 +1,7 @@
+package store.bookstoreapp.repository.book;
+
+public interface BookCategoryId {
+    Long getBookId();
+
+    Long getCategoryId();
+}
@@ -0,0 +1,11 @@
+package store.bookstoreapp.repository.book;
+
+import java.time.LocalDateTime;
+
+public interface BookChange {
+    Long getId();
+
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+}
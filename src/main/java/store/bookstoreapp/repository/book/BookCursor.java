@@ -0,0 +1,86 @@
+package store.bookstoreapp.repository.book;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import store.bookstoreapp.exception.InvalidCursorException;
+import store.bookstoreapp.model.Book;
+
+public record BookCursor(
+        Order order,
+        BigDecimal price,
+        Long id) {
+    private static final String SEPARATOR = ":";
+
+    public static BookCursor parse(String cursor, String sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return new BookCursor(Order.of(sort), null, null);
+        }
+        try {
+            String[] keys = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8).split(SEPARATOR);
+            Order order = Order.of(keys[0]);
+            if (order == Order.PRICE && keys.length == 3) {
+                return new BookCursor(order, new BigDecimal(keys[1]), Long.valueOf(keys[2]));
+            }
+            if (order == Order.ID && keys.length == 2) {
+                return new BookCursor(order, null, Long.valueOf(keys[1]));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+        throw new InvalidCursorException("Invalid cursor: " + cursor);
+    }
+
+    public BookCursor next(Book lastBook) {
+        return new BookCursor(order, lastBook.getPrice(), lastBook.getId());
+    }
+
+    public String encode() {
+        String keys = order == Order.PRICE
+                ? order.property + SEPARATOR + price.toPlainString() + SEPARATOR + id
+                : order.property + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Sort sort() {
+        return order == Order.PRICE ? Sort.by("price", "id") : Sort.by("id");
+    }
+
+    public Specification<Book> seek() {
+        if (id == null) {
+            return Specification.where(null);
+        }
+        if (order == Order.PRICE) {
+            return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(root.get("price"), price),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(root.get("price"), price),
+                            criteriaBuilder.greaterThan(root.get("id"), id)));
+        }
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("id"), id);
+    }
+
+    public enum Order {
+        ID("id"),
+        PRICE("price");
+
+        private final String property;
+
+        Order(String property) {
+            this.property = property;
+        }
+
+        public static Order of(String property) {
+            for (Order order : values()) {
+                if (order.property.equalsIgnoreCase(property)) {
+                    return order;
+                }
+            }
+            throw new InvalidCursorException("Cursor pagination can't be sorted by " + property);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package store.bookstoreapp.repository.book;
+
+import java.math.BigDecimal;
+
+public interface BookFacetRow {
+    Long getId();
+
+    String getTitle();
+
+    String getAuthor();
+
+    String getIsbn();
+
+    BigDecimal getPrice();
+}
@@ -1,10 +1,17 @@
 package store.bookstoreapp.repository.book;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import store.bookstoreapp.dto.version.VersionStamp;
 import store.bookstoreapp.model.Book;
 
 public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
@@ -12,4 +19,46 @@ public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificat
     Optional<Book> findBookById(Long id);
 
     List<Book> findAllByCategoriesId(Long categoryId, Pageable pageable);
+
+    @Query("SELECT b.id AS bookId, c.id AS categoryId "
+            + "FROM Book b JOIN b.categories c WHERE b.id IN :bookIds")
+    List<BookCategoryId> findCategoryIdsByBookIds(@Param("bookIds") Collection<Long> bookIds);
+
+    @Query("SELECT b.id AS bookId, c.id AS categoryId FROM Book b JOIN b.categories c")
+    List<BookCategoryId> findAllCategoryIds();
+
+    @Query("SELECT b.id FROM Book b")
+    List<Long> findAllIds();
+
+    @Query("SELECT b.id AS id, b.title AS title, b.author AS author, b.isbn AS isbn,"
+            + " b.price AS price FROM Book b")
+    List<BookFacetRow> findAllFacetRows();
+
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT COUNT(*) + COALESCE(SUM(b.version), 0) AS version,"
+            + " MAX(b.updated_at) AS updatedAt FROM books b"
+            + " JOIN books_categories bc ON bc.book_id = b.id"
+            + " WHERE bc.category_id = :categoryId", nativeQuery = true)
+    VersionStamp findVersionStampByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(value = "SELECT MAX(updated_at) FROM books", nativeQuery = true)
+    LocalDateTime findMaxUpdatedAt();
+
+    @Query(value = "SELECT id, version, updated_at AS updatedAt FROM books"
+            + " WHERE updated_at >= :updatedAt AND (updated_at > :updatedAt OR id > :id)"
+            + " ORDER BY updated_at, id LIMIT :limit", nativeQuery = true)
+    List<BookChange> findChangesAfter(
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("id") Long id,
+            @Param("limit") int limit
+    );
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE books SET version = version + 1, updated_at = CURRENT_TIMESTAMP(6)"
+            + " WHERE id IN (SELECT book_id FROM books_categories WHERE category_id = :categoryId)",
+            nativeQuery = true)
+    void incrementVersionByCategoryId(@Param("categoryId") Long categoryId);
 }
@@ -1,5 +1,8 @@
 package store.bookstoreapp.repository.book;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
@@ -15,6 +18,32 @@ public class BookSpecificationBuilder implements SpecificationBuilder<Book> {
 
     @Override
     public Specification<Book> build(BookSearchParameters searchParameters) {
+        Specification<Book> spec = buildFieldFilters(searchParameters);
+        if (searchParameters.categoryIds() != null) {
+            for (Long categoryId : searchParameters.categoryIds()) {
+                spec = spec.and(inCategories(new Long[] {categoryId}));
+            }
+        }
+        if (searchParameters.anyCategoryIds() != null
+                && searchParameters.anyCategoryIds().length > 0) {
+            spec = spec.and(inCategories(searchParameters.anyCategoryIds()));
+        }
+        if (searchParameters.excludedCategoryIds() != null
+                && searchParameters.excludedCategoryIds().length > 0) {
+            spec = spec.and(Specification.not(
+                    inCategories(searchParameters.excludedCategoryIds())));
+        }
+        return spec;
+    }
+
+    public Specification<Book> build(BookSearchParameters searchParameters,
+                                     Collection<Long> bookIds) {
+        Specification<Book> inBookIds = (root, query, criteriaBuilder) ->
+                root.get("id").in(bookIds);
+        return buildFieldFilters(searchParameters).and(inBookIds);
+    }
+
+    private Specification<Book> buildFieldFilters(BookSearchParameters searchParameters) {
         Specification<Book> spec = Specification.where(null);
         if (searchParameters.authors() != null && searchParameters.authors().length > 0) {
             spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("author")
@@ -28,6 +57,23 @@ public class BookSpecificationBuilder implements SpecificationBuilder<Book> {
             spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("isbn")
                     .getSpecification(searchParameters.isbns()));
         }
+        if (searchParameters.hasPriceFilters()) {
+            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("price")
+                    .getSpecification(new String[] {
+                            toString(searchParameters.minPrice()),
+                            toString(searchParameters.maxPrice())}));
+        }
         return spec;
     }
+
+    private Specification<Book> inCategories(Long[] categoryIds) {
+        return bookSpecificationProviderManager.getSpecificationProvider("category")
+                .getSpecification(Arrays.stream(categoryIds)
+                        .map(String::valueOf)
+                        .toArray(String[]::new));
+    }
+
+    private String toString(BigDecimal price) {
+        return price == null ? null : price.toPlainString();
+    }
 }
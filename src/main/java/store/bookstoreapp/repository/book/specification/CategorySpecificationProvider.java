@@ -0,0 +1,33 @@
+package store.bookstoreapp.repository.book.specification;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.Arrays;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import store.bookstoreapp.model.Book;
+import store.bookstoreapp.model.Category;
+import store.bookstoreapp.repository.SpecificationProvider;
+
+@Component
+public class CategorySpecificationProvider implements SpecificationProvider<Book> {
+    @Override
+    public String getKey() {
+        return "category";
+    }
+
+    @Override
+    public Specification<Book> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Book> book = subquery.correlate(root);
+            Join<Book, Category> category = book.join("categories");
+            return criteriaBuilder.exists(subquery
+                    .select(category.get("id"))
+                    .where(category.get("id").in(Arrays.stream(params)
+                            .map(Long::valueOf)
+                            .toArray())));
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package store.bookstoreapp.repository.book.specification;
+
+import java.math.BigDecimal;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import store.bookstoreapp.model.Book;
+import store.bookstoreapp.repository.SpecificationProvider;
+
+@Component
+public class PriceSpecificationProvider implements SpecificationProvider<Book> {
+    @Override
+    public String getKey() {
+        return "price";
+    }
+
+    @Override
+    public Specification<Book> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) -> {
+            if (params[0] == null) {
+                return criteriaBuilder.le(root.get("price"), new BigDecimal(params[1]));
+            }
+            if (params[1] == null) {
+                return criteriaBuilder.ge(root.get("price"), new BigDecimal(params[0]));
+            }
+            return criteriaBuilder.between(root.get("price"),
+                    new BigDecimal(params[0]), new BigDecimal(params[1]));
+        };
+    }
+}
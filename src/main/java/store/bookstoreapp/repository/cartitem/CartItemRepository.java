@@ -1,7 +1,36 @@
 package store.bookstoreapp.repository.cartitem;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import store.bookstoreapp.model.CartItem;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+    String ADD_QUANTITY = "INSERT INTO cards_items"
+            + " (shopping_cart_id, book_id, quantity, is_deleted) VALUES (?, ?, ?, false)"
+            + " ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity)";
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.shoppingCart.id = :shoppingCartId")
+    void deleteAllByShoppingCartId(@Param("shoppingCartId") Long shoppingCartId);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.id = :id AND ci.shoppingCart.id = :shoppingCartId")
+    int deleteByIdAndShoppingCartId(
+            @Param("id") Long id,
+            @Param("shoppingCartId") Long shoppingCartId
+    );
+
+    @Modifying
+    @Query(value = ADD_QUANTITY, nativeQuery = true)
+    void addQuantity(Long shoppingCartId, Long bookId, int quantity);
+
+    @Query("SELECT MAX(CASE WHEN ci.book.id = :bookId THEN ci.quantity END) AS quantity,"
+            + " COUNT(ci) AS cartItems, SUM(ci.quantity) AS totalQuantity"
+            + " FROM CartItem ci WHERE ci.shoppingCart.id = :shoppingCartId")
+    CartItemTotals getTotals(
+            @Param("shoppingCartId") Long shoppingCartId,
+            @Param("bookId") Long bookId
+    );
 }
@@ -0,0 +1,9 @@
+package store.bookstoreapp.repository.cartitem;
+
+public interface CartItemTotals {
+    Integer getQuantity();
+
+    Long getCartItems();
+
+    Long getTotalQuantity();
+}
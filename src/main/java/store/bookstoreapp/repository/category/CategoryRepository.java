@@ -2,8 +2,18 @@ package store.bookstoreapp.repository.category;
 
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import store.bookstoreapp.dto.version.VersionStamp;
 import store.bookstoreapp.model.Category;
 
 public interface CategoryRepository extends JpaRepository<Category,Long> {
     Optional<Category> findById(Long id);
+
+    @Query("SELECT c.version AS version, c.updatedAt AS updatedAt FROM Category c WHERE c.id = :id")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
+
+    @Query(value = "SELECT COUNT(*) + COALESCE(SUM(version), 0) AS version,"
+            + " MAX(updated_at) AS updatedAt FROM categories", nativeQuery = true)
+    VersionStamp findVersionStamp();
 }
@@ -0,0 +1,99 @@
+package store.bookstoreapp.repository.category;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.util.TypeInformation;
+import store.bookstoreapp.dto.category.CategoryDto;
+import store.bookstoreapp.dto.version.VersionStamp;
+import store.bookstoreapp.model.Category;
+
+public record CategorySnapshot(
+        Stamp versionStamp,
+        List<Entry> categories,
+        Map<Long, Entry> categoriesById
+) {
+    public static CategorySnapshot of(
+            VersionStamp versionStamp,
+            List<Category> categories,
+            Function<Category, CategoryDto> mapper
+    ) {
+        List<Entry> entries = categories.stream()
+                .sorted(Comparator.comparing(Category::getId))
+                .map(category -> new Entry(mapper.apply(category),
+                        new Stamp(category.getVersion(), category.getUpdatedAt())))
+                .toList();
+        return new CategorySnapshot(
+                new Stamp(versionStamp.getVersion(), versionStamp.getUpdatedAt()),
+                entries,
+                entries.stream().collect(Collectors.toUnmodifiableMap(
+                        entry -> entry.category().id(), Function.identity())));
+    }
+
+    public Optional<Entry> find(Long id) {
+        return Optional.ofNullable(categoriesById.get(id));
+    }
+
+    public List<CategoryDto> page(Pageable pageable) {
+        List<Entry> sorted = categories;
+        if (pageable.getSort().isSorted()) {
+            sorted = new ArrayList<>(categories);
+            sorted.sort(comparator(pageable.getSort()));
+        }
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), sorted.size());
+            sorted = sorted.subList(from, Math.min(from + pageable.getPageSize(), sorted.size()));
+        }
+        return sorted.stream()
+                .map(Entry::category)
+                .toList();
+    }
+
+    private static Comparator<Entry> comparator(Sort sort) {
+        Comparator<Entry> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Entry> orderComparator = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(entry -> entry.category().id());
+                case "name" -> Comparator.comparing(entry -> entry.category().name(),
+                        Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+                case "description" -> Comparator.comparing(
+                        entry -> entry.category().description(),
+                        Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+                case "version" -> Comparator.comparing(entry -> entry.versionStamp().version());
+                case "updatedAt" -> Comparator.comparing(entry -> entry.versionStamp().updatedAt());
+                default -> throw new PropertyReferenceException(
+                        order.getProperty(), TypeInformation.of(Category.class), List.of());
+            };
+            if (order.isDescending()) {
+                orderComparator = orderComparator.reversed();
+            }
+            comparator = comparator == null
+                    ? orderComparator
+                    : comparator.thenComparing(orderComparator);
+        }
+        return comparator;
+    }
+
+    public record Entry(CategoryDto category, Stamp versionStamp) {
+    }
+
+    public record Stamp(Long version, LocalDateTime updatedAt) implements VersionStamp {
+        @Override
+        public Long getVersion() {
+            return version;
+        }
+
+        @Override
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package store.bookstoreapp.repository.category;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import store.bookstoreapp.mapper.CategoryMapper;
+
+@Component
+public class CategorySnapshotHolder {
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+    private final long checkIntervalNanos;
+    private final AtomicReference<CategorySnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong nextCheck = new AtomicLong();
+
+    public CategorySnapshotHolder(
+            CategoryRepository categoryRepository,
+            CategoryMapper categoryMapper,
+            @Value("${category.snapshot.check-interval:1s}") Duration checkInterval
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.categoryMapper = categoryMapper;
+        this.checkIntervalNanos = checkInterval.toNanos();
+    }
+
+    public CategorySnapshot get() {
+        CategorySnapshot current = snapshot.get();
+        if (current == null) {
+            return refresh();
+        }
+        long now = System.nanoTime();
+        long next = nextCheck.get();
+        if (now - next >= 0 && nextCheck.compareAndSet(next, now + checkIntervalNanos)
+                && !current.versionStamp().getEtag()
+                        .equals(categoryRepository.findVersionStamp().getEtag())) {
+            return refresh();
+        }
+        return current;
+    }
+
+    public synchronized CategorySnapshot refresh() {
+        CategorySnapshot loaded = CategorySnapshot.of(categoryRepository.findVersionStamp(),
+                categoryRepository.findAll(), categoryMapper::toDto);
+        snapshot.set(loaded);
+        nextCheck.set(System.nanoTime() + checkIntervalNanos);
+        return loaded;
+    }
+}
@@ -0,0 +1,34 @@
+package store.bookstoreapp.repository.order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import store.bookstoreapp.exception.InvalidCursorException;
+
+public record OrderCursor(
+        LocalDateTime orderDate,
+        Long id) {
+    private static final String SEPARATOR = ",";
+
+    public static OrderCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new OrderCursor(null, null);
+        }
+        try {
+            String[] keys = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8).split(SEPARATOR);
+            if (keys.length == 2) {
+                return new OrderCursor(LocalDateTime.parse(keys[0]), Long.valueOf(keys[1]));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+        throw new InvalidCursorException("Invalid cursor: " + cursor);
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (orderDate + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,23 @@
+package store.bookstoreapp.repository.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import store.bookstoreapp.model.Order;
+
+public interface OrderHistoryRow {
+    Long getId();
+
+    Long getUserId();
+
+    LocalDateTime getOrderDate();
+
+    BigDecimal getTotal();
+
+    Order.Status getStatus();
+
+    Long getItemId();
+
+    Long getBookId();
+
+    Integer getQuantity();
+}
@@ -1,12 +1,47 @@
 package store.bookstoreapp.repository.order;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import store.bookstoreapp.model.Order;
 
 public interface OrderRepository extends JpaRepository<Order,Long> {
-    List<Order> getAllByUserId(Long id, Pageable pageable);
+    String HISTORY_SELECT = "SELECT o.id AS id, o.user_id AS userId, o.order_date AS orderDate,"
+            + " o.total AS total, o.status AS status, oi.id AS itemId, oi.book_id AS bookId,"
+            + " oi.quantity AS quantity FROM (SELECT id FROM orders"
+            + " WHERE user_id = :userId AND is_deleted = false";
+    String HISTORY_PAGE = " ORDER BY order_date DESC, id DESC LIMIT :limit) page"
+            + " JOIN orders o ON o.id = page.id"
+            + " LEFT JOIN orders_items oi ON oi.order_id = o.id AND oi.is_deleted = false"
+            + " ORDER BY o.order_date DESC, o.id DESC, oi.id";
+
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT o.id AS id, o.user.id AS userId, o.orderDate AS orderDate, o.total AS total,"
+            + " o.status AS status, oi.id AS itemId, oi.book.id AS bookId,"
+            + " oi.quantity AS quantity FROM Order o LEFT JOIN o.orderItems oi"
+            + " WHERE o.id IN :ids ORDER BY oi.id")
+    List<OrderHistoryRow> findHistoryByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = HISTORY_SELECT + HISTORY_PAGE, nativeQuery = true)
+    List<OrderHistoryRow> findHistoryByUserId(
+            @Param("userId") Long userId,
+            @Param("limit") int limit
+    );
+
+    @Query(value = HISTORY_SELECT + " AND (order_date < :orderDate"
+            + " OR order_date = :orderDate AND id < :id)" + HISTORY_PAGE, nativeQuery = true)
+    List<OrderHistoryRow> findHistoryByUserIdBefore(
+            @Param("userId") Long userId,
+            @Param("orderDate") LocalDateTime orderDate,
+            @Param("id") Long id,
+            @Param("limit") int limit
+    );
 
     Order getOrderById(Long id);
 }
@@ -1,7 +1,22 @@
 package store.bookstoreapp.repository.orderitem;
 
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import store.bookstoreapp.model.OrderItem;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+    List<OrderItem> findAllByOrderId(Long orderId);
+
+    @Modifying
+    @Query(value = "INSERT INTO orders_items (order_id, book_id, quantity, price, is_deleted)"
+            + " SELECT :orderId, ci.book_id, ci.quantity, b.price * ci.quantity, false"
+            + " FROM cards_items ci JOIN books b ON b.id = ci.book_id"
+            + " WHERE ci.shopping_cart_id = :shoppingCartId", nativeQuery = true)
+    void insertFromShoppingCart(
+            @Param("orderId") Long orderId,
+            @Param("shoppingCartId") Long shoppingCartId
+    );
 }
@@ -1,8 +1,15 @@
 package store.bookstoreapp.repository.shoppingcart;
 
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import store.bookstoreapp.model.ShoppingCart;
 
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
     ShoppingCart getShoppingCartById(Long id);
+
+    @Query("SELECT sc FROM ShoppingCart sc JOIN FETCH sc.user u LEFT JOIN FETCH u.roles"
+            + " LEFT JOIN FETCH sc.cartItems ci LEFT JOIN FETCH ci.book WHERE sc.id = :id")
+    Optional<ShoppingCart> findWithItemsById(@Param("id") Long id);
 }
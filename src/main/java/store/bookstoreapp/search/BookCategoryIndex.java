@@ -0,0 +1,165 @@
+package store.bookstoreapp.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.stereotype.Component;
+import store.bookstoreapp.repository.book.BookCategoryId;
+
+@Component
+public class BookCategoryIndex {
+    private static final Roaring64NavigableMap EMPTY = bitmap();
+
+    private final Map<Long, Roaring64NavigableMap> books = new HashMap<>();
+    private final Map<Long, long[]> categories = new HashMap<>();
+    private final Roaring64NavigableMap allBooks = bitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public void load(Collection<Long> bookIds, Collection<BookCategoryId> bookCategories) {
+        Map<Long, List<Long>> categoryIds = new HashMap<>();
+        for (BookCategoryId bookCategory : bookCategories) {
+            categoryIds.computeIfAbsent(bookCategory.getBookId(), bookId -> new ArrayList<>())
+                    .add(bookCategory.getCategoryId());
+        }
+        lock.writeLock().lock();
+        try {
+            books.clear();
+            categories.clear();
+            allBooks.clear();
+            for (Long bookId : bookIds) {
+                add(bookId, categoryIds.getOrDefault(bookId, List.of()));
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Long bookId, Collection<Long> categoryIds) {
+        lock.writeLock().lock();
+        try {
+            removeBook(bookId);
+            add(bookId, categoryIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeBook(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeCategory(Long categoryId) {
+        lock.writeLock().lock();
+        try {
+            Roaring64NavigableMap categoryBooks = books.remove(categoryId);
+            if (categoryBooks == null) {
+                return;
+            }
+            for (long bookId : categoryBooks.toArray()) {
+                categories.put(bookId, Arrays.stream(categories.get(bookId))
+                        .filter(id -> id != categoryId)
+                        .toArray());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long[] find(
+            Collection<Long> allOfCategoryIds,
+            Collection<Long> anyOfCategoryIds,
+            Collection<Long> noneOfCategoryIds
+    ) {
+        lock.readLock().lock();
+        try {
+            List<Roaring64NavigableMap> required = allOfCategoryIds.stream()
+                    .map(this::booksOf)
+                    .sorted(Comparator.comparingLong(Roaring64NavigableMap::getLongCardinality))
+                    .toList();
+            Roaring64NavigableMap result = bitmap();
+            result.or(required.isEmpty() ? allBooks : required.get(0));
+            for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+                result.and(required.get(i));
+            }
+            if (!anyOfCategoryIds.isEmpty()) {
+                Roaring64NavigableMap anyOf = bitmap();
+                for (Long categoryId : anyOfCategoryIds) {
+                    anyOf.or(booksOf(categoryId));
+                }
+                if (required.isEmpty()) {
+                    result = anyOf;
+                } else {
+                    result.and(anyOf);
+                }
+            }
+            for (Long categoryId : noneOfCategoryIds) {
+                result.andNot(booksOf(categoryId));
+            }
+            return result.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return allBooks.getIntCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Roaring64NavigableMap bitmap() {
+        return new Roaring64NavigableMap(false, false);
+    }
+
+    private Roaring64NavigableMap booksOf(Long categoryId) {
+        return books.getOrDefault(categoryId, EMPTY);
+    }
+
+    private void add(Long bookId, Collection<Long> categoryIds) {
+        long[] bookCategories = categoryIds.stream()
+                .mapToLong(Long::longValue)
+                .distinct()
+                .toArray();
+        for (long categoryId : bookCategories) {
+            books.computeIfAbsent(categoryId, id -> bitmap()).addLong(bookId);
+        }
+        categories.put(bookId, bookCategories);
+        allBooks.addLong(bookId);
+    }
+
+    private void removeBook(Long bookId) {
+        long[] bookCategories = categories.remove(bookId);
+        if (bookCategories == null) {
+            return;
+        }
+        for (long categoryId : bookCategories) {
+            Roaring64NavigableMap categoryBooks = books.get(categoryId);
+            categoryBooks.removeLong(bookId);
+            if (categoryBooks.isEmpty()) {
+                books.remove(categoryId);
+            }
+        }
+        allBooks.removeLong(bookId);
+    }
+}
@@ -0,0 +1,17 @@
+package store.bookstoreapp.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import store.bookstoreapp.repository.book.BookRepository;
+
+@Component
+@RequiredArgsConstructor
+public class BookCategoryIndexLoader implements BookIndexLoader {
+    private final BookRepository bookRepository;
+    private final BookCategoryIndex bookCategoryIndex;
+
+    @Override
+    public void load() {
+        bookCategoryIndex.load(bookRepository.findAllIds(), bookRepository.findAllCategoryIds());
+    }
+}
@@ -0,0 +1,464 @@
+package store.bookstoreapp.search;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.roaringbitmap.BatchIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import store.bookstoreapp.dto.book.AuthorFacetDto;
+import store.bookstoreapp.dto.book.BookFacetsDto;
+import store.bookstoreapp.dto.book.CategoryFacetDto;
+import store.bookstoreapp.dto.book.PriceFacetDto;
+import store.bookstoreapp.model.Book;
+import store.bookstoreapp.repository.book.BookCategoryId;
+import store.bookstoreapp.repository.book.BookFacetRow;
+
+@Component
+public class BookFacetIndex {
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int BATCH_SIZE = 256;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TRAILING_SPACES = Pattern.compile(" +$");
+
+    private final BigDecimal[] priceBuckets;
+    private final int authorLimit;
+    private final Map<Long, Integer> rows = new HashMap<>();
+    private final Dictionary titles = new Dictionary();
+    private final Dictionary isbns = new Dictionary();
+    private final Dictionary authors = new Dictionary();
+    private final Map<Long, Integer> categoryOrdinals = new HashMap<>();
+    private final List<Long> categories = new ArrayList<>();
+    private final List<RoaringBitmap> categoryRows = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] titleColumn = new int[INITIAL_CAPACITY];
+    private int[] isbnColumn = new int[INITIAL_CAPACITY];
+    private int[] authorColumn = new int[INITIAL_CAPACITY];
+    private int[] priceColumn = new int[INITIAL_CAPACITY];
+    private long[] centsColumn = new long[INITIAL_CAPACITY];
+    private int[][] categoryColumn = new int[INITIAL_CAPACITY][];
+    private int size;
+
+    public BookFacetIndex(
+            @Value("${book.facets.price-buckets:10,20,50,100}") BigDecimal[] priceBuckets,
+            @Value("${book.facets.author-limit:10}") int authorLimit
+    ) {
+        this.priceBuckets = priceBuckets.clone();
+        Arrays.sort(this.priceBuckets);
+        this.authorLimit = authorLimit;
+    }
+
+    public void load(Collection<BookFacetRow> books, Collection<BookCategoryId> bookCategories) {
+        Map<Long, List<Long>> categoryIds = new HashMap<>();
+        for (BookCategoryId bookCategory : bookCategories) {
+            categoryIds.computeIfAbsent(bookCategory.getBookId(), bookId -> new ArrayList<>())
+                    .add(bookCategory.getCategoryId());
+        }
+        lock.writeLock().lock();
+        try {
+            rows.clear();
+            titles.clear();
+            isbns.clear();
+            authors.clear();
+            categoryOrdinals.clear();
+            categories.clear();
+            categoryRows.clear();
+            Arrays.fill(categoryColumn, 0, size, null);
+            size = 0;
+            for (BookFacetRow book : books) {
+                put(book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(),
+                        book.getPrice(), categoryIds.getOrDefault(book.getId(), List.of()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Book book, Collection<Long> categoryIds) {
+        lock.writeLock().lock();
+        try {
+            put(book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(),
+                    book.getPrice(), categoryIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rows.remove(bookId);
+            if (row == null) {
+                return;
+            }
+            removeCategoryRows(row);
+            titles.release(titleColumn[row]);
+            isbns.release(isbnColumn[row]);
+            authors.release(authorColumn[row]);
+            int last = --size;
+            if (row != last) {
+                removeCategoryRows(last);
+                ids[row] = ids[last];
+                titleColumn[row] = titleColumn[last];
+                isbnColumn[row] = isbnColumn[last];
+                authorColumn[row] = authorColumn[last];
+                priceColumn[row] = priceColumn[last];
+                centsColumn[row] = centsColumn[last];
+                categoryColumn[row] = categoryColumn[last];
+                addCategoryRows(row);
+                rows.put(ids[row], row);
+            }
+            categoryColumn[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeCategory(Long categoryId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = categoryOrdinals.remove(categoryId);
+            if (ordinal != null) {
+                categories.set(ordinal, null);
+                categoryRows.set(ordinal, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BookFacetsDto facets(
+            BookSearchParameters searchParameters,
+            Function<Long, String> categoryNames
+    ) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap selection = select(searchParameters);
+            int[] authorMatches = new int[authors.size()];
+            int[] priceMatches = new int[priceBuckets.length + 1];
+            if (selection.getLongCardinality() == size) {
+                for (int row = 0; row < size; row++) {
+                    authorMatches[authorColumn[row]]++;
+                    priceMatches[priceColumn[row]]++;
+                }
+            } else {
+                int[] batch = new int[BATCH_SIZE];
+                BatchIterator iterator = selection.getBatchIterator();
+                while (iterator.hasNext()) {
+                    int count = iterator.nextBatch(batch);
+                    for (int i = 0; i < count; i++) {
+                        authorMatches[authorColumn[batch[i]]]++;
+                        priceMatches[priceColumn[batch[i]]]++;
+                    }
+                }
+            }
+            return new BookFacetsDto(selection.getLongCardinality(),
+                    categoryFacets(selection, categoryNames), authorFacets(authorMatches),
+                    priceFacets(priceMatches));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int authorCount() {
+        lock.readLock().lock();
+        try {
+            return authors.count();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long bookId, String title, String author, String isbn, BigDecimal price,
+                     Collection<Long> categoryIds) {
+        Integer row = rows.get(bookId);
+        if (row == null) {
+            ensureCapacity();
+            row = size++;
+            rows.put(bookId, row);
+            ids[row] = bookId;
+        } else {
+            titles.release(titleColumn[row]);
+            isbns.release(isbnColumn[row]);
+            authors.release(authorColumn[row]);
+        }
+        titleColumn[row] = titles.acquire(title);
+        isbnColumn[row] = isbns.acquire(isbn);
+        authorColumn[row] = authors.acquire(author);
+        priceColumn[row] = priceBucket(price);
+        centsColumn[row] = cents(price, RoundingMode.HALF_UP);
+        removeCategoryRows(row);
+        categoryColumn[row] = categoryIds.stream()
+                .mapToInt(categoryId -> categoryOrdinals.computeIfAbsent(categoryId, key -> {
+                    categories.add(categoryId);
+                    categoryRows.add(new RoaringBitmap());
+                    return categories.size() - 1;
+                }))
+                .distinct()
+                .toArray();
+        addCategoryRows(row);
+    }
+
+    private void addCategoryRows(int row) {
+        for (int ordinal : categoryColumn[row]) {
+            RoaringBitmap bitmap = categoryRows.get(ordinal);
+            if (bitmap != null) {
+                bitmap.add(row);
+            }
+        }
+    }
+
+    private void removeCategoryRows(int row) {
+        if (categoryColumn[row] == null) {
+            return;
+        }
+        for (int ordinal : categoryColumn[row]) {
+            RoaringBitmap bitmap = categoryRows.get(ordinal);
+            if (bitmap != null) {
+                bitmap.remove(row);
+            }
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size < ids.length) {
+            return;
+        }
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        titleColumn = Arrays.copyOf(titleColumn, capacity);
+        isbnColumn = Arrays.copyOf(isbnColumn, capacity);
+        authorColumn = Arrays.copyOf(authorColumn, capacity);
+        priceColumn = Arrays.copyOf(priceColumn, capacity);
+        centsColumn = Arrays.copyOf(centsColumn, capacity);
+        categoryColumn = Arrays.copyOf(categoryColumn, capacity);
+    }
+
+    private int priceBucket(BigDecimal price) {
+        int bucket = 0;
+        while (bucket < priceBuckets.length && price.compareTo(priceBuckets[bucket]) >= 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private RoaringBitmap select(BookSearchParameters searchParameters) {
+        RoaringBitmap selection = RoaringBitmap.bitmapOfRange(0, size);
+        if (searchParameters.categoryIds() != null) {
+            for (Long categoryId : searchParameters.categoryIds()) {
+                selection.and(rowsOf(categoryId));
+            }
+        }
+        if (searchParameters.anyCategoryIds() != null
+                && searchParameters.anyCategoryIds().length > 0) {
+            selection.and(RoaringBitmap.or(Arrays.stream(searchParameters.anyCategoryIds())
+                    .map(this::rowsOf)
+                    .iterator()));
+        }
+        if (searchParameters.excludedCategoryIds() != null) {
+            for (Long categoryId : searchParameters.excludedCategoryIds()) {
+                selection.andNot(rowsOf(categoryId));
+            }
+        }
+        return searchParameters.hasTextFilters() || searchParameters.hasPriceFilters()
+                ? filter(selection, searchParameters) : selection;
+    }
+
+    private RoaringBitmap filter(RoaringBitmap selection, BookSearchParameters searchParameters) {
+        boolean[] titleFilter = filter(titles, searchParameters.titles());
+        boolean[] isbnFilter = filter(isbns, searchParameters.isbns());
+        boolean[] authorFilter = filter(authors, searchParameters.authors());
+        long minCents = searchParameters.minPrice() == null ? Long.MIN_VALUE
+                : cents(searchParameters.minPrice(), RoundingMode.CEILING);
+        long maxCents = searchParameters.maxPrice() == null ? Long.MAX_VALUE
+                : cents(searchParameters.maxPrice(), RoundingMode.FLOOR);
+        RoaringBitmap matches = new RoaringBitmap();
+        int[] batch = new int[BATCH_SIZE];
+        BatchIterator iterator = selection.getBatchIterator();
+        while (iterator.hasNext()) {
+            int count = iterator.nextBatch(batch);
+            for (int i = 0; i < count; i++) {
+                int row = batch[i];
+                if (centsColumn[row] >= minCents && centsColumn[row] <= maxCents
+                        && (titleFilter == null || titleFilter[titleColumn[row]])
+                        && (isbnFilter == null || isbnFilter[isbnColumn[row]])
+                        && (authorFilter == null || authorFilter[authorColumn[row]])) {
+                    matches.add(row);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private boolean[] filter(Dictionary dictionary, String[] values) {
+        if (values == null || values.length == 0) {
+            return null;
+        }
+        boolean[] filter = new boolean[dictionary.size()];
+        for (String value : values) {
+            Integer ordinal = dictionary.find(value);
+            if (ordinal != null) {
+                filter[ordinal] = true;
+            }
+        }
+        return filter;
+    }
+
+    private RoaringBitmap rowsOf(Long categoryId) {
+        Integer ordinal = categoryOrdinals.get(categoryId);
+        return ordinal == null ? EMPTY : categoryRows.get(ordinal);
+    }
+
+    private List<CategoryFacetDto> categoryFacets(
+            RoaringBitmap selection,
+            Function<Long, String> categoryNames
+    ) {
+        List<CategoryFacetDto> facets = new ArrayList<>();
+        for (int ordinal = 0; ordinal < categories.size(); ordinal++) {
+            Long categoryId = categories.get(ordinal);
+            if (categoryId == null) {
+                continue;
+            }
+            int count = RoaringBitmap.andCardinality(selection, categoryRows.get(ordinal));
+            if (count > 0) {
+                facets.add(new CategoryFacetDto(categoryId, categoryNames.apply(categoryId),
+                        count));
+            }
+        }
+        facets.sort(Comparator.comparingLong(CategoryFacetDto::count).reversed()
+                .thenComparing(CategoryFacetDto::id));
+        return facets;
+    }
+
+    private List<AuthorFacetDto> authorFacets(int[] counts) {
+        Comparator<Integer> rank = Comparator.<Integer>comparingInt(ordinal -> counts[ordinal])
+                .reversed()
+                .thenComparing(authors::get);
+        PriorityQueue<Integer> top = new PriorityQueue<>(authorLimit + 1, rank.reversed());
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] == 0) {
+                continue;
+            }
+            if (top.size() < authorLimit) {
+                top.add(ordinal);
+            } else if (authorLimit > 0 && rank.compare(ordinal, top.peek()) < 0) {
+                top.poll();
+                top.add(ordinal);
+            }
+        }
+        return top.stream()
+                .sorted(rank)
+                .map(ordinal -> new AuthorFacetDto(authors.get(ordinal), counts[ordinal]))
+                .toList();
+    }
+
+    private List<PriceFacetDto> priceFacets(int[] counts) {
+        List<PriceFacetDto> facets = new ArrayList<>();
+        for (int bucket = 0; bucket <= priceBuckets.length; bucket++) {
+            facets.add(new PriceFacetDto(
+                    bucket == 0 ? null : priceBuckets[bucket - 1],
+                    bucket == priceBuckets.length ? null : priceBuckets[bucket],
+                    counts[bucket]));
+        }
+        return facets;
+    }
+
+    private static long cents(BigDecimal price, RoundingMode roundingMode) {
+        return price.movePointRight(2).setScale(0, roundingMode).longValue();
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFKD))
+                .replaceAll("")
+                .toUpperCase(Locale.ROOT)
+                .toLowerCase(Locale.ROOT);
+        return TRAILING_SPACES.matcher(folded).replaceAll("");
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<Integer> references = new ArrayList<>();
+        private final Deque<Integer> unused = new ArrayDeque<>();
+
+        int acquire(String value) {
+            String key = normalize(value);
+            Integer ordinal = ordinals.get(key);
+            if (ordinal == null) {
+                ordinal = unused.isEmpty() ? values.size() : unused.pop();
+                if (ordinal == values.size()) {
+                    values.add(value);
+                    references.add(0);
+                } else {
+                    values.set(ordinal, value);
+                }
+                ordinals.put(key, ordinal);
+            }
+            references.set(ordinal, references.get(ordinal) + 1);
+            return ordinal;
+        }
+
+        void release(int ordinal) {
+            int count = references.get(ordinal) - 1;
+            references.set(ordinal, count);
+            if (count == 0) {
+                ordinals.remove(normalize(values.get(ordinal)));
+                values.set(ordinal, null);
+                unused.push(ordinal);
+            }
+        }
+
+        Integer find(String value) {
+            return ordinals.get(normalize(value));
+        }
+
+        String get(int ordinal) {
+            return values.get(ordinal);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        int count() {
+            return ordinals.size();
+        }
+
+        void clear() {
+            ordinals.clear();
+            values.clear();
+            references.clear();
+            unused.clear();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package store.bookstoreapp.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import store.bookstoreapp.repository.book.BookRepository;
+
+@Component
+@RequiredArgsConstructor
+public class BookFacetIndexLoader implements BookIndexLoader {
+    private final BookRepository bookRepository;
+    private final BookFacetIndex bookFacetIndex;
+
+    @Override
+    public void load() {
+        bookFacetIndex.load(bookRepository.findAllFacetRows(), bookRepository.findAllCategoryIds());
+    }
+}
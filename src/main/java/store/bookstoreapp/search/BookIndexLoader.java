@@ -0,0 +1,5 @@
+package store.bookstoreapp.search;
+
+public interface BookIndexLoader {
+    void load();
+}
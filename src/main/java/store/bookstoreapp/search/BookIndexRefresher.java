@@ -0,0 +1,188 @@
+package store.bookstoreapp.search;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import store.bookstoreapp.model.Book;
+import store.bookstoreapp.repository.book.BookCategoryId;
+import store.bookstoreapp.repository.book.BookChange;
+import store.bookstoreapp.repository.book.BookRepository;
+
+@Slf4j
+@Component
+public class BookIndexRefresher implements DisposableBean {
+    private static final int CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final List<BookIndexLoader> loaders;
+    private final BookTextIndex bookTextIndex;
+    private final BookCategoryIndex bookCategoryIndex;
+    private final BookFacetIndex bookFacetIndex;
+    private final Duration checkInterval;
+    private final Duration commitDelay;
+    private final Map<Long, Applied> applied = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "book-index-refresher");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private volatile LocalDateTime watermark = LocalDate.EPOCH.atStartOfDay();
+
+    public BookIndexRefresher(
+            BookRepository bookRepository,
+            List<BookIndexLoader> loaders,
+            BookTextIndex bookTextIndex,
+            BookCategoryIndex bookCategoryIndex,
+            BookFacetIndex bookFacetIndex,
+            @Value("${book.index.check-interval:30s}") Duration checkInterval,
+            @Value("${book.index.commit-delay:1m}") Duration commitDelay
+    ) {
+        this.bookRepository = bookRepository;
+        this.loaders = loaders;
+        this.bookTextIndex = bookTextIndex;
+        this.bookCategoryIndex = bookCategoryIndex;
+        this.bookFacetIndex = bookFacetIndex;
+        this.checkInterval = checkInterval;
+        this.commitDelay = commitDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        load();
+        scheduler.scheduleWithFixedDelay(this::check, checkInterval.toMillis(),
+                checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void load() {
+        watermark = Optional.ofNullable(bookRepository.findMaxUpdatedAt()).orElse(watermark);
+        loaders.forEach(BookIndexLoader::load);
+    }
+
+    public void check() {
+        try {
+            refresh(watermark.minus(commitDelay));
+        } catch (RuntimeException e) {
+            log.warn("Can't refresh the book indexes", e);
+        }
+    }
+
+    public void index(Book book, Collection<Long> categoryIds) {
+        afterCommit(() -> {
+            synchronized (this) {
+                bookTextIndex.index(book);
+                bookCategoryIndex.index(book.getId(), categoryIds);
+                bookFacetIndex.index(book, categoryIds);
+                if (book.getVersion() != null && book.getUpdatedAt() != null) {
+                    applied.put(book.getId(), new Applied(book.getVersion(), book.getUpdatedAt()));
+                }
+            }
+        });
+    }
+
+    public void remove(Long bookId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                removeBook(bookId);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private synchronized void refresh(LocalDateTime from) {
+        LocalDateTime updatedAt = from;
+        Long id = 0L;
+        List<BookChange> changes;
+        do {
+            changes = bookRepository.findChangesAfter(updatedAt, id, CHUNK_SIZE);
+            reindex(changes.stream()
+                    .filter(change -> !isApplied(change))
+                    .map(BookChange::getId)
+                    .toList());
+            if (!changes.isEmpty()) {
+                BookChange last = changes.get(changes.size() - 1);
+                updatedAt = last.getUpdatedAt();
+                id = last.getId();
+            }
+        } while (changes.size() == CHUNK_SIZE);
+        if (updatedAt.isAfter(watermark)) {
+            watermark = updatedAt;
+        }
+        applied.values().removeIf(change -> change.updatedAt().isBefore(from));
+    }
+
+    private void reindex(List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<Long>> categoryIds = new HashMap<>();
+        for (BookCategoryId bookCategory : bookRepository.findCategoryIdsByBookIds(bookIds)) {
+            categoryIds.computeIfAbsent(bookCategory.getBookId(), bookId -> new HashSet<>())
+                    .add(bookCategory.getCategoryId());
+        }
+        Map<Long, Book> books = new HashMap<>();
+        bookRepository.findAllById(bookIds).forEach(book -> books.put(book.getId(), book));
+        for (Long bookId : bookIds) {
+            Book book = books.get(bookId);
+            if (book == null) {
+                removeBook(bookId);
+            } else {
+                Set<Long> bookCategoryIds = categoryIds.getOrDefault(bookId, Set.of());
+                bookTextIndex.index(book);
+                bookCategoryIndex.index(bookId, bookCategoryIds);
+                bookFacetIndex.index(book, bookCategoryIds);
+            }
+        }
+    }
+
+    private void removeBook(Long bookId) {
+        bookTextIndex.remove(bookId);
+        bookCategoryIndex.remove(bookId);
+        bookFacetIndex.remove(bookId);
+        applied.remove(bookId);
+    }
+
+    private boolean isApplied(BookChange change) {
+        Applied local = applied.get(change.getId());
+        return local != null && local.version().equals(change.getVersion());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Applied(Long version, LocalDateTime updatedAt) {
+    }
+}
@@ -1,4 +1,31 @@
 package store.bookstoreapp.search;
 
-public record BookSearchParameters(String[] titles, String[] authors, String[] isbns) {
+import java.math.BigDecimal;
+
+public record BookSearchParameters(
+        String[] titles,
+        String[] authors,
+        String[] isbns,
+        Long[] categoryIds,
+        Long[] anyCategoryIds,
+        Long[] excludedCategoryIds,
+        BigDecimal minPrice,
+        BigDecimal maxPrice
+) {
+    public boolean hasTextFilters() {
+        return isPresent(titles) || isPresent(authors) || isPresent(isbns);
+    }
+
+    public boolean hasCategoryFilters() {
+        return isPresent(categoryIds) || isPresent(anyCategoryIds)
+                || isPresent(excludedCategoryIds);
+    }
+
+    public boolean hasPriceFilters() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    private static boolean isPresent(Object[] values) {
+        return values != null && values.length > 0;
+    }
 }
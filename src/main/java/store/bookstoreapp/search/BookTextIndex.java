@@ -0,0 +1,188 @@
+package store.bookstoreapp.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Component;
+import store.bookstoreapp.model.Book;
+
+@Component
+public class BookTextIndex {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_PENALTY = 0.5;
+
+    private NavigableMap<String, Postings> postings = new TreeMap<>();
+    private Map<Long, Postings[]> terms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void load(BookTextIndex loaded) {
+        lock.writeLock().lock();
+        try {
+            postings = loaded.postings;
+            terms = loaded.terms;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Book book) {
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, book.getTitle(), TITLE_WEIGHT);
+        addTerms(weights, book.getAuthor(), AUTHOR_WEIGHT);
+        addTerms(weights, book.getDescription(), DESCRIPTION_WEIGHT);
+        lock.writeLock().lock();
+        try {
+            removeTerms(book.getId());
+            Postings[] bookTerms = new Postings[weights.size()];
+            int index = 0;
+            for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+                Postings posting = postings.computeIfAbsent(weight.getKey(), Postings::new);
+                posting.put(book.getId(), weight.getValue());
+                bookTerms[index++] = posting;
+            }
+            terms.put(book.getId(), bookTerms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = score(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((bookId, score) -> score + tokenScores.get(bookId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> score(String token) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Postings posting
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+            double idf = Math.log(1 + (double) terms.size() / posting.size);
+            double match = posting.term.equals(token) ? 1 : PREFIX_PENALTY;
+            for (int i = 0; i < posting.size; i++) {
+                scores.merge(posting.bookIds[i], posting.weights[i] * idf * match, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private void removeTerms(Long bookId) {
+        Postings[] bookTerms = terms.remove(bookId);
+        if (bookTerms == null) {
+            return;
+        }
+        for (Postings posting : bookTerms) {
+            posting.remove(bookId);
+            if (posting.size == 0) {
+                postings.remove(posting.term);
+            }
+        }
+    }
+
+    private void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static final class Postings {
+        private final String term;
+        private long[] bookIds = new long[1];
+        private int[] weights = new int[1];
+        private int size;
+
+        private Postings(String term) {
+            this.term = term;
+        }
+
+        private void put(long bookId, int weight) {
+            int index = Arrays.binarySearch(bookIds, 0, size, bookId);
+            if (index >= 0) {
+                weights[index] = weight;
+                return;
+            }
+            index = -index - 1;
+            if (size == bookIds.length) {
+                bookIds = Arrays.copyOf(bookIds, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(bookIds, index, bookIds, index + 1, size - index);
+            System.arraycopy(weights, index, weights, index + 1, size - index);
+            bookIds[index] = bookId;
+            weights[index] = weight;
+            size++;
+        }
+
+        private void remove(long bookId) {
+            int index = Arrays.binarySearch(bookIds, 0, size, bookId);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(bookIds, index + 1, bookIds, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+        }
+    }
+}
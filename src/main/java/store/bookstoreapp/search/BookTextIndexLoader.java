@@ -0,0 +1,36 @@
+package store.bookstoreapp.search;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import store.bookstoreapp.model.Book;
+import store.bookstoreapp.repository.book.BookCursor;
+import store.bookstoreapp.repository.book.BookRepository;
+
+@Component
+@RequiredArgsConstructor
+public class BookTextIndexLoader implements BookIndexLoader {
+    private static final int CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final BookTextIndex bookTextIndex;
+
+    @Override
+    public void load() {
+        BookTextIndex loaded = new BookTextIndex();
+        BookCursor cursor = BookCursor.parse(null, "id");
+        List<Book> books;
+        do {
+            BookCursor chunkCursor = cursor;
+            books = bookRepository.findBy(chunkCursor.seek(), query -> query
+                    .limit(CHUNK_SIZE)
+                    .sortBy(chunkCursor.sort())
+                    .all());
+            books.forEach(loaded::index);
+            if (!books.isEmpty()) {
+                cursor = cursor.next(books.get(books.size() - 1));
+            }
+        } while (books.size() == CHUNK_SIZE);
+        bookTextIndex.load(loaded);
+    }
+}
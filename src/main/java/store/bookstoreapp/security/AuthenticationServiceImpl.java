@@ -1,5 +1,6 @@
 package store.bookstoreapp.security;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -7,19 +8,23 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import store.bookstoreapp.dto.user.UserLoginRequestDto;
 import store.bookstoreapp.dto.user.UserLoginResponseDto;
+import store.bookstoreapp.model.User;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "bookstore.service", histogram = true)
 public class AuthenticationServiceImpl implements AuthenticationService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final LoginExecutor loginExecutor;
 
     @Override
     public UserLoginResponseDto authentication(UserLoginRequestDto requestDto) {
-        final Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(requestDto.email(), requestDto.password())
+        final Authentication authentication = loginExecutor.call(
+                () -> authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+                        requestDto.email(), requestDto.password()))
         );
-        String token = jwtUtil.generateToken(authentication.getName());
+        String token = jwtUtil.generateToken((User) authentication.getPrincipal());
         return new UserLoginResponseDto(token);
     }
 }
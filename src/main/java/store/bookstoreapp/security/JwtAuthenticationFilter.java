@@ -1,11 +1,13 @@
 package store.bookstoreapp.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,7 +21,10 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final UserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
     private final JwtUtil jwtUtil;
+    @Value("${jwt.authentication-mode:LOOKUP}")
+    private AuthenticationMode authenticationMode;
 
     @Override
     protected void doFilterInternal(
@@ -28,17 +33,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
         String token = getToken(request);
-        if (token != null && jwtUtil.isValidToken(token)) {
-            String username = jwtUtil.getUsername(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            Authentication authentication = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities()
-            );
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            UserDetails userDetails = getUserDetails(jwtUtil.parseToken(token));
+            if (userDetails.isEnabled()) {
+                Authentication authentication = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities()
+                );
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails getUserDetails(Claims claims) {
+        return switch (authenticationMode) {
+            case CLAIMS -> jwtUtil.getUser(claims)
+                    .map(UserDetails.class::cast)
+                    .orElseGet(() -> userDetailsService.loadUserByUsername(claims.getSubject()));
+            case CACHE -> userDetailsCache.get(
+                    claims.getSubject(), userDetailsService::loadUserByUsername);
+            default -> userDetailsService.loadUserByUsername(claims.getSubject());
+        };
+    }
+
     private String getToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -46,4 +63,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
+
+    public enum AuthenticationMode {
+        LOOKUP,
+        CLAIMS,
+        CACHE
+    }
 }
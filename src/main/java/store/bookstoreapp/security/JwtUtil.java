@@ -1,58 +1,81 @@
 package store.bookstoreapp.security;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
+import store.bookstoreapp.model.Role;
+import store.bookstoreapp.model.User;
 
 @Component
 public class JwtUtil {
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
     private final Key secret;
-    @Value("${jwt.expiration}")
-    private long expiration;
+    private final JwtParser parser;
+    private final long expiration;
 
-    public JwtUtil(@Value("${jwt.secret}") String secretString) {
-        secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+    public JwtUtil(
+            @Value("${jwt.secret}") String secretString,
+            @Value("${jwt.expiration}") long expiration
+    ) {
+        this.secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(secret).build();
+        this.expiration = expiration;
     }
 
-    public String generateToken(String email) {
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(email)
+                .setSubject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(secret)
                 .compact();
     }
 
-    public boolean isValidToken(String token) {
+    public Claims parseToken(String token) {
         try {
-            Jws<Claims> claimsJws = Jwts.parserBuilder()
-                    .setSigningKey(secret)
-                    .build()
-                    .parseClaimsJws(token);
-            return !claimsJws.getBody().getExpiration().before(new Date());
+            return parser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Expired or invalid JWT token");
         }
     }
 
-    public String getUsername(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
-    }
-
-    private <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+    public Optional<User> getUser(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        Collection<?> roleNames = claims.get(ROLES_CLAIM, Collection.class);
+        if (userId == null || roleNames == null) {
+            return Optional.empty();
+        }
+        Set<Role> roles = new HashSet<>();
+        for (Object roleName : roleNames) {
+            Role role = new Role();
+            try {
+                role.setName(Role.RoleName.valueOf(roleName.toString()));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            roles.add(role);
+        }
+        User user = new User();
+        user.setId(userId.longValue());
+        user.setEmail(claims.getSubject());
+        user.setRoles(roles);
+        return Optional.of(user);
     }
 }
@@ -0,0 +1,72 @@
+package store.bookstoreapp.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import store.bookstoreapp.exception.LoginUnavailableException;
+
+@Component
+public class LoginExecutor {
+    private final ExecutorService executor;
+    private final Counter rejected;
+    private final Duration retryAfter;
+
+    public LoginExecutor(
+            @Value("${security.login.threads:0}") int threads,
+            @Value("${security.login.queue-capacity:100}") int queueCapacity,
+            @Value("${security.login.retry-after:1s}") Duration retryAfter,
+            MeterRegistry meterRegistry
+    ) {
+        int poolSize = threads > 0
+                ? threads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("login-"));
+        executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPoolExecutor, "login");
+        rejected = Counter.builder("security.login.rejected").register(meterRegistry);
+        this.retryAfter = retryAfter;
+    }
+
+    public <T> T call(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new LoginUnavailableException(
+                    "Too many concurrent logins, retry later", retryAfter);
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Login failed", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for login", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
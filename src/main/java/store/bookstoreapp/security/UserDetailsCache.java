@@ -0,0 +1,32 @@
+package store.bookstoreapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserDetailsCache {
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(
+            @Value("${jwt.user-cache.max-size:10000}") long maxSize,
+            @Value("${jwt.user-cache.ttl:60s}") Duration ttl
+    ) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+}
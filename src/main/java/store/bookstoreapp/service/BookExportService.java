@@ -0,0 +1,10 @@
+package store.bookstoreapp.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import store.bookstoreapp.dto.book.BookFileFormat;
+
+public interface BookExportService {
+
+    void export(BookFileFormat format, OutputStream outputStream) throws IOException;
+}
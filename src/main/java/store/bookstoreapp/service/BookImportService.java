@@ -0,0 +1,12 @@
+package store.bookstoreapp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import store.bookstoreapp.dto.book.BookFileFormat;
+import store.bookstoreapp.dto.book.BookImportResultDto;
+
+public interface BookImportService {
+
+    BookImportResultDto importBooks(BookFileFormat format, InputStream inputStream)
+            throws IOException;
+}
@@ -4,7 +4,10 @@ import java.util.List;
 import org.springframework.data.domain.Pageable;
 import store.bookstoreapp.dto.book.BookDto;
 import store.bookstoreapp.dto.book.BookDtoWithoutCategoryIds;
+import store.bookstoreapp.dto.book.BookSearchResultDto;
 import store.bookstoreapp.dto.book.CreateBookRequestDto;
+import store.bookstoreapp.dto.page.CursorPageDto;
+import store.bookstoreapp.dto.version.VersionStamp;
 import store.bookstoreapp.search.BookSearchParameters;
 
 public interface BookService {
@@ -15,6 +18,8 @@ public interface BookService {
 
     List<BookDto> findAll(Pageable pageable);
 
+    CursorPageDto<BookDto> findAll(String cursor, String sort, int size);
+
     BookDto updateBook(Long id, CreateBookRequestDto requestDto);
 
     void deleteById(Long id);
@@ -22,6 +27,16 @@ public interface BookService {
     List<BookDto> search(BookSearchParameters searchParameters,
                          Pageable pageable);
 
+    List<BookDto> search(String query, Pageable pageable);
+
+    BookSearchResultDto searchWithFacets(BookSearchParameters searchParameters,
+                                         Pageable pageable);
+
     List<BookDtoWithoutCategoryIds> getBookByCategoryId(Long id, Pageable pageable);
 
+    CursorPageDto<BookDtoWithoutCategoryIds> getBookByCategoryId(
+            Long id, String cursor, String sort, int size);
+
+    VersionStamp getVersionStampByCategoryId(Long id);
+
 }
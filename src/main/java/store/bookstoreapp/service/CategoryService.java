@@ -4,10 +4,15 @@ import java.util.List;
 import org.springframework.data.domain.Pageable;
 import store.bookstoreapp.dto.category.CategoryDto;
 import store.bookstoreapp.dto.category.CategoryRequestDto;
+import store.bookstoreapp.dto.version.VersionStamp;
 
 public interface CategoryService {
     List<CategoryDto> findAll(Pageable pageable);
 
+    VersionStamp getVersionStamp();
+
+    VersionStamp getVersionStamp(Long id);
+
     CategoryDto getById(Long id);
 
     CategoryDto save(CategoryRequestDto requestDto);
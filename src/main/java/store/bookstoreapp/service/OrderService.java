@@ -4,16 +4,19 @@ import java.util.List;
 import org.springframework.data.domain.Pageable;
 import store.bookstoreapp.dto.order.OrderDto;
 import store.bookstoreapp.dto.orderitem.OrderItemDto;
+import store.bookstoreapp.dto.page.CursorPageDto;
 import store.bookstoreapp.model.Order;
 
 public interface OrderService {
-    OrderDto placeOrder(String address, String email);
+    OrderDto placeOrder(String address, Long userId);
 
-    List<OrderDto> getAllOrders(String email, Pageable pageable);
+    List<OrderDto> getAllOrders(Long userId, Pageable pageable);
+
+    CursorPageDto<OrderDto> getAllOrders(Long userId, String cursor, int size);
 
     OrderDto updateOrderStatus(Long id, Order.Status status);
 
-    List<OrderItemDto> getOrderItems(Long id, String email);
+    List<OrderItemDto> getOrderItems(Long id, Long userId);
 
-    OrderItemDto getOrderItem(Long orderId, Long orderItemId, String email);
+    OrderItemDto getOrderItem(Long orderId, Long orderItemId, Long userId);
 }
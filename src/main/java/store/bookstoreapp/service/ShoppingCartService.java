@@ -2,14 +2,18 @@ package store.bookstoreapp.service;
 
 import store.bookstoreapp.dto.cartitem.CartItemDto;
 import store.bookstoreapp.dto.cartitem.CartItemRequestDto;
+import store.bookstoreapp.dto.cartitem.CartItemsRequestDto;
 import store.bookstoreapp.dto.shoppingcart.ShoppingCartDto;
+import store.bookstoreapp.dto.shoppingcart.ShoppingCartSummaryDto;
 
 public interface ShoppingCartService {
-    ShoppingCartDto addBookToShoppingCart(CartItemRequestDto requestDto, String email);
+    ShoppingCartSummaryDto addBookToShoppingCart(CartItemRequestDto requestDto, Long userId);
 
-    ShoppingCartDto getShoppingCart(String email);
+    ShoppingCartDto addBooksToShoppingCart(CartItemsRequestDto requestDto, Long userId);
 
-    void deleteItemFromShoppingCart(Long id, String email);
+    ShoppingCartDto getShoppingCart(Long userId);
 
-    CartItemDto updateQuantity(Long id, int quantity, String email);
+    void deleteItemFromShoppingCart(Long id, Long userId);
+
+    CartItemDto updateQuantity(Long id, int quantity, Long userId);
 }
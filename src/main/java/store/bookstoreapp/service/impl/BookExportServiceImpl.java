@@ -0,0 +1,140 @@
+package store.bookstoreapp.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import io.micrometer.core.annotation.Timed;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import store.bookstoreapp.dto.book.BookDto;
+import store.bookstoreapp.dto.book.BookFileFormat;
+import store.bookstoreapp.service.BookExportService;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "bookstore.service", histogram = true)
+public class BookExportServiceImpl implements BookExportService {
+    private static final String EXPORT_QUERY = "SELECT b.id, b.title, b.author, b.isbn, b.price,"
+            + " b.description, b.cover_image, c.id AS category_id FROM books b"
+            + " LEFT JOIN books_categories bc ON bc.book_id = b.id"
+            + " LEFT JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false"
+            + " WHERE b.is_deleted = false ORDER BY b.id";
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final String[] CSV_COLUMNS = {"id", "title", "author", "isbn", "price",
+            "description", "coverImage", "categoryIds"};
+    private static final byte NEW_LINE = '\n';
+    private static final String MYSQL = "MySQL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    @Value("${book.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    public void export(BookFileFormat format, OutputStream outputStream) throws IOException {
+        BookRowWriter rowWriter = new BookRowWriter(writer(format).writeValues(outputStream));
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_QUERY,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(isMySql(connection) ? Integer.MIN_VALUE : fetchSize);
+                return statement;
+            }, rowWriter);
+            rowWriter.writeCurrent();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            rowWriter.close();
+        }
+        if (format == BookFileFormat.NDJSON && rowWriter.hasRows()) {
+            outputStream.write(NEW_LINE);
+        }
+        outputStream.flush();
+    }
+
+    private boolean isMySql(Connection connection) throws SQLException {
+        return MYSQL.equals(connection.getMetaData().getDatabaseProductName());
+    }
+
+    private ObjectWriter writer(BookFileFormat format) {
+        ObjectWriter writer = switch (format) {
+            case CSV -> CSV_MAPPER.writerFor(BookDto.class).with(CSV_MAPPER
+                    .schemaFor(BookDto.class)
+                    .sortedBy(CSV_COLUMNS)
+                    .withHeader()
+                    .withArrayElementSeparator(";"));
+            default -> objectMapper.writerFor(BookDto.class)
+                    .withRootValueSeparator(String.valueOf((char) NEW_LINE));
+        };
+        return writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private static class BookRowWriter implements RowCallbackHandler {
+        private final SequenceWriter sequenceWriter;
+        private BookDto current;
+        private boolean rows;
+
+        BookRowWriter(SequenceWriter sequenceWriter) {
+            this.sequenceWriter = sequenceWriter;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long id = resultSet.getLong("id");
+            if (current == null || current.getId() != id) {
+                writeCurrent();
+                current = toBookDto(resultSet);
+            }
+            long categoryId = resultSet.getLong("category_id");
+            if (!resultSet.wasNull()) {
+                current.getCategoryIds().add(categoryId);
+            }
+        }
+
+        void writeCurrent() {
+            if (current == null) {
+                return;
+            }
+            try {
+                sequenceWriter.write(current);
+                rows = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        boolean hasRows() {
+            return rows;
+        }
+
+        void close() throws IOException {
+            sequenceWriter.close();
+        }
+
+        private BookDto toBookDto(ResultSet resultSet) throws SQLException {
+            BookDto bookDto = new BookDto();
+            bookDto.setId(resultSet.getLong("id"));
+            bookDto.setTitle(resultSet.getString("title"));
+            bookDto.setAuthor(resultSet.getString("author"));
+            bookDto.setIsbn(resultSet.getString("isbn"));
+            bookDto.setPrice(resultSet.getBigDecimal("price"));
+            bookDto.setDescription(resultSet.getString("description"));
+            bookDto.setCoverImage(resultSet.getString("cover_image"));
+            bookDto.setCategoryIds(new HashSet<>());
+            return bookDto;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package store.bookstoreapp.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import store.bookstoreapp.dto.book.BookFileFormat;
+import store.bookstoreapp.dto.book.BookImportErrorDto;
+import store.bookstoreapp.dto.book.BookImportResultDto;
+import store.bookstoreapp.dto.book.ImportBookRequestDto;
+import store.bookstoreapp.mapper.BookMapper;
+import store.bookstoreapp.model.Book;
+import store.bookstoreapp.search.BookIndexRefresher;
+import store.bookstoreapp.service.BookImportService;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "bookstore.service", histogram = true)
+public class BookImportServiceImpl implements BookImportService {
+    private static final String CATEGORY_IDS_QUERY =
+            "SELECT id FROM categories WHERE is_deleted = false";
+    private static final String EXISTING_ISBNS_QUERY =
+            "SELECT isbn FROM books WHERE isbn IN (:isbns)";
+    private static final String BOOK_IDS_QUERY =
+            "SELECT id, isbn FROM books WHERE isbn IN (:isbns)";
+    private static final String INSERT_BOOK = "INSERT INTO books"
+            + " (title, author, isbn, price, description, cover_image, is_deleted)"
+            + " VALUES (?, ?, ?, ?, ?, ?, false)";
+    private static final String INSERT_BOOK_CATEGORY =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)";
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final BookMapper bookMapper;
+    private final BookIndexRefresher bookIndexRefresher;
+    @Value("${book.import.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${book.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Override
+    public BookImportResultDto importBooks(BookFileFormat format, InputStream inputStream)
+            throws IOException {
+        BookImport bookImport = new BookImport(
+                new HashSet<>(jdbcTemplate.queryForList(CATEGORY_IDS_QUERY, Long.class)));
+        if (format == BookFileFormat.CSV) {
+            readCsv(inputStream, bookImport);
+        } else {
+            readNdjson(inputStream, bookImport);
+        }
+        bookImport.flush();
+        return bookImport.result();
+    }
+
+    private void readNdjson(InputStream inputStream, BookImport bookImport) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(ImportBookRequestDto.class);
+        BufferedReader lines = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        long row = 0;
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            try {
+                bookImport.add(row, reader.readValue(line));
+            } catch (JsonProcessingException e) {
+                bookImport.reject(row, null, e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(InputStream inputStream, BookImport bookImport) throws IOException {
+        ObjectReader reader = CSV_MAPPER.readerFor(ImportBookRequestDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .with(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .with(CSV_MAPPER.schemaFor(ImportBookRequestDto.class)
+                        .withHeader()
+                        .withColumnReordering(true)
+                        .withArrayElementSeparator(";"));
+        try (MappingIterator<ImportBookRequestDto> rows = reader.readValues(inputStream)) {
+            long row = 0;
+            while (true) {
+                try {
+                    if (!rows.hasNextValue()) {
+                        return;
+                    }
+                } catch (JsonProcessingException e) {
+                    bookImport.reject(row + 1, null, e.getOriginalMessage());
+                    return;
+                }
+                row++;
+                try {
+                    bookImport.add(row, rows.nextValue());
+                } catch (JsonProcessingException e) {
+                    bookImport.reject(row, null, e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private List<ImportRow> insert(List<ImportRow> chunk) {
+        Set<String> existingIsbns = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                EXISTING_ISBNS_QUERY, Map.of("isbns", isbns(chunk)), String.class));
+        List<ImportRow> rows = chunk.stream()
+                .filter(row -> !existingIsbns.contains(row.book().getIsbn()))
+                .toList();
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        jdbcTemplate.batchUpdate(INSERT_BOOK, rows, chunkSize, (statement, row) -> {
+            statement.setString(1, row.book().getTitle());
+            statement.setString(2, row.book().getAuthor());
+            statement.setString(3, row.book().getIsbn());
+            statement.setBigDecimal(4, row.book().getPrice());
+            statement.setString(5, row.book().getDescription());
+            statement.setString(6, row.book().getCoverImage());
+        });
+        Map<String, Long> bookIds = new HashMap<>();
+        namedParameterJdbcTemplate.query(BOOK_IDS_QUERY, Map.of("isbns", isbns(rows)),
+                resultSet -> {
+                    bookIds.put(resultSet.getString("isbn"), resultSet.getLong("id"));
+                });
+        List<long[]> bookCategories = new ArrayList<>();
+        for (ImportRow row : rows) {
+            row.book().setId(bookIds.get(row.book().getIsbn()));
+            for (Long categoryId : row.categoryIds()) {
+                bookCategories.add(new long[] {row.book().getId(), categoryId});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_BOOK_CATEGORY, bookCategories, chunkSize,
+                (statement, bookCategory) -> {
+                    statement.setLong(1, bookCategory[0]);
+                    statement.setLong(2, bookCategory[1]);
+                });
+        return rows;
+    }
+
+    private List<String> isbns(List<ImportRow> rows) {
+        return rows.stream()
+                .map(row -> row.book().getIsbn())
+                .toList();
+    }
+
+    private record ImportRow(Book book, Set<Long> categoryIds) {
+    }
+
+    private class BookImport {
+        private final Set<Long> categoryIds;
+        private final Set<String> isbns = new HashSet<>();
+        private final List<ImportRow> chunk = new ArrayList<>();
+        private final List<BookImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long duplicates;
+        private long rejected;
+
+        BookImport(Set<Long> categoryIds) {
+            this.categoryIds = categoryIds;
+        }
+
+        void add(long row, ImportBookRequestDto requestDto) {
+            Set<ConstraintViolation<ImportBookRequestDto>> violations =
+                    validator.validate(requestDto);
+            if (!violations.isEmpty()) {
+                reject(row, requestDto.getIsbn(), violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " "
+                                + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                return;
+            }
+            if (requestDto.getCategoryIds() == null) {
+                requestDto.setCategoryIds(Set.of());
+            }
+            Set<Long> unknownCategoryIds = requestDto.getCategoryIds().stream()
+                    .filter(categoryId -> !categoryIds.contains(categoryId))
+                    .collect(Collectors.toSet());
+            if (!unknownCategoryIds.isEmpty()) {
+                reject(row, requestDto.getIsbn(), "Unknown category ids: " + unknownCategoryIds);
+                return;
+            }
+            if (!isbns.add(requestDto.getIsbn())) {
+                duplicates++;
+                return;
+            }
+            chunk.add(new ImportRow(bookMapper.toModel(requestDto), requestDto.getCategoryIds()));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String isbn, String message) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(new BookImportErrorDto(row, isbn, message));
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<ImportRow> rows;
+            try {
+                rows = transactionTemplate.execute(status -> insert(chunk));
+            } catch (DuplicateKeyException e) {
+                rows = transactionTemplate.execute(status -> insert(chunk));
+            }
+            for (ImportRow row : rows) {
+                bookIndexRefresher.index(row.book(), row.categoryIds());
+            }
+            imported += rows.size();
+            duplicates += chunk.size() - rows.size();
+            chunk.clear();
+            isbns.clear();
+        }
+
+        BookImportResultDto result() {
+            return new BookImportResultDto(imported, duplicates, rejected, errors);
+        }
+    }
+}
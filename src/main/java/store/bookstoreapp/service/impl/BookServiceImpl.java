@@ -1,35 +1,73 @@
 package store.bookstoreapp.service.impl;
 
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import store.bookstoreapp.config.CacheConfig;
 import store.bookstoreapp.dto.book.BookDto;
 import store.bookstoreapp.dto.book.BookDtoWithoutCategoryIds;
+import store.bookstoreapp.dto.book.BookSearchResultDto;
 import store.bookstoreapp.dto.book.CreateBookRequestDto;
+import store.bookstoreapp.dto.page.CursorPageDto;
+import store.bookstoreapp.dto.version.VersionStamp;
 import store.bookstoreapp.exception.EntityNotFoundException;
 import store.bookstoreapp.mapper.BookMapper;
 import store.bookstoreapp.model.Book;
+import store.bookstoreapp.repository.book.BookCategoryId;
+import store.bookstoreapp.repository.book.BookCursor;
 import store.bookstoreapp.repository.book.BookRepository;
 import store.bookstoreapp.repository.book.BookSpecificationBuilder;
+import store.bookstoreapp.repository.category.CategorySnapshot;
+import store.bookstoreapp.repository.category.CategorySnapshotHolder;
+import store.bookstoreapp.search.BookCategoryIndex;
+import store.bookstoreapp.search.BookFacetIndex;
+import store.bookstoreapp.search.BookIndexRefresher;
 import store.bookstoreapp.search.BookSearchParameters;
+import store.bookstoreapp.search.BookTextIndex;
 import store.bookstoreapp.service.BookService;
 
 @RequiredArgsConstructor
 @Service
+@Timed(value = "bookstore.service", histogram = true)
 public class BookServiceImpl implements BookService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_ID_FILTER_SIZE = 1000;
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final BookSpecificationBuilder bookSpecificationBuilder;
+    private final BookTextIndex bookTextIndex;
+    private final BookCategoryIndex bookCategoryIndex;
+    private final BookFacetIndex bookFacetIndex;
+    private final BookIndexRefresher bookIndexRefresher;
+    private final CategorySnapshotHolder categorySnapshotHolder;
 
     @Override
+    @CachePut(cacheNames = CacheConfig.BOOKS_CACHE, key = "#result.id")
     public BookDto save(CreateBookRequestDto requestDto) {
-        return bookMapper.toDto(bookRepository.save(bookMapper.toModel(requestDto)));
+        Book book = bookRepository.save(bookMapper.toModel(requestDto));
+        bookIndexRefresher.index(book, bookMapper.toCategoryIds(book.getCategories()));
+        return bookMapper.toDto(book);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public BookDto findBookById(Long id) {
         Optional<Book> bookById = bookRepository.findBookById(id);
         if (bookById.isPresent()) {
@@ -39,35 +77,178 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable).stream().map(bookMapper::toDto).toList();
+        return toDtos(bookRepository.findAll(pageable).getContent());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<BookDto> findAll(String cursor, String sort, int size) {
+        BookCursor bookCursor = BookCursor.parse(cursor, sort);
+        List<Book> books = seek(Specification.where(null), bookCursor, size);
+        return new CursorPageDto<>(toDtos(page(books, size)), nextCursor(books, bookCursor, size));
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public BookDto updateBook(Long id, CreateBookRequestDto requestDto) {
         Book bookToUpdate = bookRepository.findBookById(id).orElseThrow(
                 () -> new EntityNotFoundException("Can't find book with id: " + id));
         bookMapper.updateBookFromDto(requestDto, bookToUpdate);
-        return bookMapper.toDto(bookRepository.save(bookToUpdate));
+        Book book = bookRepository.save(bookToUpdate);
+        bookIndexRefresher.index(book, bookMapper.toCategoryIds(book.getCategories()));
+        return bookMapper.toDto(book);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public void deleteById(Long id) {
         bookRepository.deleteById(id);
+        bookIndexRefresher.remove(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookDto> search(BookSearchParameters searchParameters,
                                 Pageable pageable) {
+        if (searchParameters.hasCategoryFilters() && bookCategoryIndex.isLoaded()) {
+            long[] bookIds = bookCategoryIndex.find(
+                    toSet(searchParameters.categoryIds()),
+                    toSet(searchParameters.anyCategoryIds()),
+                    toSet(searchParameters.excludedCategoryIds()));
+            if (bookIds.length == 0) {
+                return List.of();
+            }
+            if (!searchParameters.hasTextFilters() && !searchParameters.hasPriceFilters()
+                    && isSortedById(pageable.getSort())) {
+                return findAllInOrder(pageIds(bookIds, pageable));
+            }
+            if (bookIds.length <= MAX_ID_FILTER_SIZE) {
+                Specification<Book> bookSpecification = bookSpecificationBuilder.build(
+                        searchParameters, Arrays.stream(bookIds).boxed().toList());
+                return toDtos(bookRepository.findAll(bookSpecification, pageable).getContent());
+            }
+        }
         Specification<Book> bookSpecification = bookSpecificationBuilder.build(searchParameters);
-        return bookRepository.findAll(bookSpecification,pageable).stream()
-                .map(bookMapper::toDto)
-                .toList();
+        return toDtos(bookRepository.findAll(bookSpecification, pageable).getContent());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<BookDto> search(String query, Pageable pageable) {
+        List<Long> rankedIds = bookTextIndex.search(query);
+        if (pageable.getOffset() >= rankedIds.size()) {
+            return List.of();
+        }
+        return findAllInOrder(rankedIds.subList((int) pageable.getOffset(),
+                (int) Math.min(rankedIds.size(), pageable.getOffset() + pageable.getPageSize())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookSearchResultDto searchWithFacets(BookSearchParameters searchParameters,
+                                                Pageable pageable) {
+        CategorySnapshot categories = categorySnapshotHolder.get();
+        return new BookSearchResultDto(search(searchParameters, pageable),
+                bookFacetIndex.facets(searchParameters, categoryId -> categories.find(categoryId)
+                        .map(entry -> entry.category().name())
+                        .orElse(null)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<BookDtoWithoutCategoryIds> getBookByCategoryId(Long id, Pageable pageable) {
         return bookRepository.findAllByCategoriesId(id,pageable).stream()
                 .map(bookMapper::toDtoWithoutCategories).toList();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<BookDtoWithoutCategoryIds> getBookByCategoryId(
+            Long id, String cursor, String sort, int size) {
+        BookCursor bookCursor = BookCursor.parse(cursor, sort);
+        Specification<Book> inCategory = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.join("categories").get("id"), id);
+        List<Book> books = seek(inCategory, bookCursor, size);
+        return new CursorPageDto<>(
+                page(books, size).stream().map(bookMapper::toDtoWithoutCategories).toList(),
+                nextCursor(books, bookCursor, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersionStamp getVersionStampByCategoryId(Long id) {
+        return bookRepository.findVersionStampByCategoryId(id);
+    }
+
+    private List<BookDto> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> books = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return toDtos(ids.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    private List<Long> pageIds(long[] bookIds, Pageable pageable) {
+        Sort.Order order = pageable.getSort().getOrderFor("id");
+        boolean descending = order != null && order.isDescending();
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), bookIds.length) : 0;
+        int to = pageable.isPaged()
+                ? (int) Math.min(bookIds.length, (long) from + pageable.getPageSize())
+                : bookIds.length;
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(bookIds[descending ? bookIds.length - 1 - i : i]);
+        }
+        return ids;
+    }
+
+    private boolean isSortedById(Sort sort) {
+        return sort.stream().allMatch(order -> order.getProperty().equals("id"));
+    }
+
+    private Set<Long> toSet(Long[] ids) {
+        return ids == null ? Set.of() : Set.copyOf(Arrays.asList(ids));
+    }
+
+    private List<Book> seek(Specification<Book> specification, BookCursor cursor, int size) {
+        return bookRepository.findBy(specification.and(cursor.seek()), query -> query
+                .limit(pageSize(size) + 1)
+                .sortBy(cursor.sort())
+                .all());
+    }
+
+    private List<Book> page(List<Book> books, int size) {
+        return books.size() > pageSize(size) ? books.subList(0, pageSize(size)) : books;
+    }
+
+    private String nextCursor(List<Book> books, BookCursor cursor, int size) {
+        if (books.size() <= pageSize(size)) {
+            return null;
+        }
+        return cursor.next(books.get(pageSize(size) - 1)).encode();
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    private List<BookDto> toDtos(List<Book> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Set<Long>> categoryIds = bookRepository
+                .findCategoryIdsByBookIds(books.stream().map(Book::getId).toList()).stream()
+                .collect(Collectors.groupingBy(BookCategoryId::getBookId,
+                        Collectors.mapping(BookCategoryId::getCategoryId, Collectors.toSet())));
+        return books.stream()
+                .map(book -> bookMapper.toDto(
+                        book, categoryIds.getOrDefault(book.getId(), Set.of())))
+                .toList();
+    }
 }
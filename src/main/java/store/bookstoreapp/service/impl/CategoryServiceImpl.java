@@ -1,41 +1,63 @@
 package store.bookstoreapp.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import java.util.List;
-import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import store.bookstoreapp.config.CacheConfig;
 import store.bookstoreapp.dto.category.CategoryDto;
 import store.bookstoreapp.dto.category.CategoryRequestDto;
+import store.bookstoreapp.dto.version.VersionStamp;
 import store.bookstoreapp.exception.EntityNotFoundException;
 import store.bookstoreapp.mapper.CategoryMapper;
 import store.bookstoreapp.model.Category;
+import store.bookstoreapp.repository.book.BookRepository;
 import store.bookstoreapp.repository.category.CategoryRepository;
+import store.bookstoreapp.repository.category.CategorySnapshot;
+import store.bookstoreapp.repository.category.CategorySnapshotHolder;
+import store.bookstoreapp.search.BookCategoryIndex;
+import store.bookstoreapp.search.BookFacetIndex;
 import store.bookstoreapp.service.CategoryService;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "bookstore.service", histogram = true)
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
+    private final BookRepository bookRepository;
     private final CategoryMapper categoryMapper;
+    private final CategorySnapshotHolder categorySnapshotHolder;
+    private final BookCategoryIndex bookCategoryIndex;
+    private final BookFacetIndex bookFacetIndex;
 
     @Override
     public List<CategoryDto> findAll(Pageable pageable) {
-        return categoryRepository.findAll(pageable).stream().map(categoryMapper::toDto).toList();
+        return categorySnapshotHolder.get().page(pageable);
+    }
+
+    @Override
+    public VersionStamp getVersionStamp() {
+        return categorySnapshotHolder.get().versionStamp();
+    }
+
+    @Override
+    public VersionStamp getVersionStamp(Long id) {
+        return find(id).versionStamp();
     }
 
     @Override
     public CategoryDto getById(Long id) {
-        Optional<Category> categoryById = categoryRepository.findById(id);
-        if (categoryById.isPresent()) {
-            return categoryMapper.toDto(categoryById.get());
-        }
-        throw new EntityNotFoundException("Can't find category with id " + id);
+        return find(id).category();
     }
 
     @Override
     public CategoryDto save(CategoryRequestDto requestDto) {
-        return categoryMapper.toDto(categoryRepository.save(categoryMapper.toModel(requestDto)));
+        Category category = categoryRepository.save(categoryMapper.toModel(requestDto));
+        categorySnapshotHolder.refresh();
+        return categoryMapper.toDto(category);
     }
 
     @Override
@@ -44,13 +66,24 @@ public class CategoryServiceImpl implements CategoryService {
                 () -> new EntityNotFoundException("Can't find category with id " + id)
         );
         categoryMapper.updateCategoryFromDto(categoryDto,categoryToUpdate);
-        return categoryMapper.toDto(categoryRepository.save(categoryToUpdate));
+        Category category = categoryRepository.save(categoryToUpdate);
+        categorySnapshotHolder.refresh();
+        return categoryMapper.toDto(category);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, allEntries = true)
     public void delete(Long id) {
         categoryRepository.deleteById(id);
-
+        bookRepository.incrementVersionByCategoryId(id);
+        bookCategoryIndex.removeCategory(id);
+        bookFacetIndex.removeCategory(id);
+        categorySnapshotHolder.refresh();
     }
 
+    private CategorySnapshot.Entry find(Long id) {
+        return categorySnapshotHolder.get().find(id).orElseThrow(
+                () -> new EntityNotFoundException("Can't find category with id " + id));
+    }
 }
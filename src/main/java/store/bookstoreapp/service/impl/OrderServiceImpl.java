@@ -1,15 +1,22 @@
 package store.bookstoreapp.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import store.bookstoreapp.dto.order.OrderDto;
 import store.bookstoreapp.dto.orderitem.OrderItemDto;
+import store.bookstoreapp.dto.page.CursorPageDto;
 import store.bookstoreapp.exception.EntityNotFoundException;
 import store.bookstoreapp.mapper.CartItemOrderItemMapper;
 import store.bookstoreapp.mapper.OrderItemMapper;
@@ -18,50 +25,80 @@ import store.bookstoreapp.model.Order;
 import store.bookstoreapp.model.OrderItem;
 import store.bookstoreapp.model.ShoppingCart;
 import store.bookstoreapp.model.User;
+import store.bookstoreapp.repository.cartitem.CartItemRepository;
+import store.bookstoreapp.repository.order.OrderCursor;
+import store.bookstoreapp.repository.order.OrderHistoryRow;
 import store.bookstoreapp.repository.order.OrderRepository;
 import store.bookstoreapp.repository.orderitem.OrderItemRepository;
 import store.bookstoreapp.repository.shoppingcart.ShoppingCartRepository;
-import store.bookstoreapp.repository.user.UserRepository;
 import store.bookstoreapp.service.OrderService;
 
 @RequiredArgsConstructor
 @Service
+@Timed(value = "bookstore.service", histogram = true)
 public class OrderServiceImpl implements OrderService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
-    private final UserRepository userRepository;
     private final ShoppingCartRepository shoppingCartRepository;
+    private final CartItemRepository cartItemRepository;
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
     private final CartItemOrderItemMapper cartItemOrderItemMapper;
 
     @Override
-    public OrderDto placeOrder(String address, String email) {
-        User user = getUserByEmail(email);
-        ShoppingCart shoppingCart = getShoppingCart(user);
-        Order order = createOrder(address, user);
-        List<OrderItem> orderItems = shoppingCart.getCartItems().stream()
+    @Transactional
+    public OrderDto placeOrder(String address, Long userId) {
+        ShoppingCart shoppingCart = getShoppingCart(userId);
+        Order order = createOrder(address, shoppingCart.getUser());
+        order.setTotal(calculateTotal(shoppingCart.getCartItems().stream()
                 .map(cartItemOrderItemMapper::cartItemToOrderMapper)
-                .map(item -> {
-                    item.setOrder(order);
-                    return item;
-                })
-                .toList();
-        order.setOrderItems(new HashSet<>(orderItems));
-        order.setTotal(calculateTotal(orderItems));
+                .toList()));
         orderRepository.save(order);
-        orderItemRepository.saveAll(orderItems);
-        clearShoppingCart(shoppingCart);
+        orderItemRepository.insertFromShoppingCart(order.getId(), shoppingCart.getId());
+        List<OrderItem> orderItems = orderItemRepository.findAllByOrderId(order.getId());
+        order.setOrderItems(new HashSet<>(orderItems));
+        BigDecimal total = calculateTotal(orderItems);
+        if (total.compareTo(order.getTotal()) != 0) {
+            order.setTotal(total);
+        }
+        cartItemRepository.deleteAllByShoppingCartId(shoppingCart.getId());
         return orderMapper.toDto(order);
     }
 
     @Override
-    public List<OrderDto> getAllOrders(String email, Pageable pageable) {
-        return orderRepository.getAllByUserId(getUserByEmail(email).getId(), pageable).stream()
-                .map(orderMapper::toDto)
+    @Transactional(readOnly = true)
+    public List<OrderDto> getAllOrders(Long userId, Pageable pageable) {
+        List<Long> ids = orderRepository.findIdsByUserId(userId, pageable);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, OrderDto> orders = toDtos(orderRepository.findHistoryByIds(ids));
+        return ids.stream()
+                .map(orders::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrderDto> getAllOrders(Long userId, String cursor, int size) {
+        OrderCursor orderCursor = OrderCursor.parse(cursor);
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        List<OrderHistoryRow> rows = orderCursor.id() == null
+                ? orderRepository.findHistoryByUserId(userId, pageSize + 1)
+                : orderRepository.findHistoryByUserIdBefore(
+                        userId, orderCursor.orderDate(), orderCursor.id(), pageSize + 1);
+        List<OrderDto> orders = new ArrayList<>(toDtos(rows).values());
+        if (orders.size() <= pageSize) {
+            return new CursorPageDto<>(orders, null);
+        }
+        OrderDto last = orders.get(pageSize - 1);
+        return new CursorPageDto<>(List.copyOf(orders.subList(0, pageSize)),
+                new OrderCursor(last.getOrderDate(), last.getId()).encode());
+    }
+
     @Override
     public OrderDto updateOrderStatus(Long id, Order.Status status) {
         Order order = orderRepository.getOrderById(id);
@@ -71,14 +108,16 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public List<OrderItemDto> getOrderItems(Long id, String email) {
-        return getOrderById(id, email).getOrderItems().stream()
+    @Transactional(readOnly = true)
+    public List<OrderItemDto> getOrderItems(Long id, Long userId) {
+        return getOrderById(id, userId).getOrderItems().stream()
                 .map(orderItemMapper::toDto).toList();
     }
 
     @Override
-    public OrderItemDto getOrderItem(Long orderId, Long orderItemId, String email) {
-        Set<OrderItem> orderItems = getOrderById(orderId, email).getOrderItems();
+    @Transactional(readOnly = true)
+    public OrderItemDto getOrderItem(Long orderId, Long orderItemId, Long userId) {
+        Set<OrderItem> orderItems = getOrderById(orderId, userId).getOrderItems();
         return orderItemMapper.toDto(orderItems.stream()
                 .filter(oi -> oi.getId().equals(orderItemId))
                 .findFirst()
@@ -86,10 +125,13 @@ public class OrderServiceImpl implements OrderService {
                         "Can't find order item with id " + orderItemId)));
     }
 
-    private ShoppingCart getShoppingCart(User user) {
-        ShoppingCart shoppingCart = shoppingCartRepository.getShoppingCartById(user.getId());
+    private ShoppingCart getShoppingCart(Long userId) {
+        ShoppingCart shoppingCart = shoppingCartRepository.findWithItemsById(userId)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Can't find shopping cart for user " + userId));
         if (shoppingCart.getCartItems().isEmpty()) {
-            throw new RuntimeException("No goods in shopping cart with id: " + user.getId());
+            throw new RuntimeException("No goods in shopping cart with id: "
+                    + shoppingCart.getId());
         }
         return shoppingCart;
     }
@@ -112,21 +154,22 @@ public class OrderServiceImpl implements OrderService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    private void clearShoppingCart(ShoppingCart shoppingCart) {
-        shoppingCart.getCartItems().clear();
-        shoppingCartRepository.save(shoppingCart);
+    private Map<Long, OrderDto> toDtos(List<OrderHistoryRow> rows) {
+        Map<Long, OrderDto> orders = new LinkedHashMap<>();
+        for (OrderHistoryRow row : rows) {
+            OrderDto order = orders.computeIfAbsent(row.getId(), id -> orderMapper.toDto(row));
+            if (row.getItemId() != null) {
+                order.getOrderItems().add(orderItemMapper.toDto(row));
+            }
+        }
+        return orders;
     }
 
-    private Order getOrderById(Long orderId, String email) {
+    private Order getOrderById(Long orderId, Long userId) {
         Order order = orderRepository.getOrderById(orderId);
-        if (!order.getUser().getId().equals(getUserByEmail(email).getId())) {
-            throw new EntityNotFoundException("Not found order with id:" + order.getId());
+        if (order == null || !order.getUser().getId().equals(userId)) {
+            throw new EntityNotFoundException("Not found order with id:" + orderId);
         }
         return order;
     }
-
-    private User getUserByEmail(String email) {
-        return userRepository.findByEmail(email).orElseThrow(
-                () -> new EntityNotFoundException("Can't find user with email " + email));
-    }
 }
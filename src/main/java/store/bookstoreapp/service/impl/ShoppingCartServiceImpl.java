@@ -1,65 +1,91 @@
 package store.bookstoreapp.service.impl;
 
-import java.util.Optional;
+import io.micrometer.core.annotation.Timed;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import store.bookstoreapp.dto.cartitem.CartItemDto;
 import store.bookstoreapp.dto.cartitem.CartItemRequestDto;
+import store.bookstoreapp.dto.cartitem.CartItemsRequestDto;
 import store.bookstoreapp.dto.shoppingcart.ShoppingCartDto;
+import store.bookstoreapp.dto.shoppingcart.ShoppingCartSummaryDto;
 import store.bookstoreapp.exception.EntityNotFoundException;
-import store.bookstoreapp.mapper.BookMapper;
 import store.bookstoreapp.mapper.CartItemMapper;
 import store.bookstoreapp.mapper.ShoppingCartMapper;
 import store.bookstoreapp.model.CartItem;
 import store.bookstoreapp.model.ShoppingCart;
+import store.bookstoreapp.repository.book.BookRepository;
 import store.bookstoreapp.repository.cartitem.CartItemRepository;
+import store.bookstoreapp.repository.cartitem.CartItemTotals;
 import store.bookstoreapp.repository.shoppingcart.ShoppingCartRepository;
-import store.bookstoreapp.repository.user.UserRepository;
-import store.bookstoreapp.service.BookService;
 import store.bookstoreapp.service.ShoppingCartService;
 
 @RequiredArgsConstructor
 @Service
+@Timed(value = "bookstore.service", histogram = true)
 public class ShoppingCartServiceImpl implements ShoppingCartService {
     private final CartItemRepository cartItemRepository;
     private final ShoppingCartRepository shoppingCartRepository;
-    private final BookService bookService;
-    private final UserRepository userRepository;
-    private final BookMapper bookMapper;
+    private final BookRepository bookRepository;
     private final ShoppingCartMapper shoppingCartMapper;
     private final CartItemMapper cartItemMapper;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
-    public ShoppingCartDto addBookToShoppingCart(CartItemRequestDto requestDto, String email) {
-        ShoppingCart shoppingCart = getShoppingCartByEmail(email);
-        Optional<CartItem> cartItemInShoppingCart =
-                findCartItemInShoppingCart(shoppingCart, requestDto.bookId());
-        CartItem cartItem;
-        if (cartItemInShoppingCart.isPresent()) {
-            cartItem = cartItemInShoppingCart.get();
-            cartItem.setQuantity(cartItem.getQuantity() + requestDto.quantity());
-        } else {
-            cartItem = createCartItem(requestDto, shoppingCart);
+    @Transactional
+    public ShoppingCartSummaryDto addBookToShoppingCart(
+            CartItemRequestDto requestDto, Long userId) {
+        if (!bookRepository.existsById(requestDto.bookId())) {
+            throw new EntityNotFoundException("Can't find book with id: " + requestDto.bookId());
         }
-        cartItemRepository.save(cartItem);
-        shoppingCartRepository.save(shoppingCart);
-        return shoppingCartMapper.toDto(shoppingCart);
+        cartItemRepository.addQuantity(userId, requestDto.bookId(), requestDto.quantity());
+        CartItemTotals totals = cartItemRepository.getTotals(userId, requestDto.bookId());
+        return new ShoppingCartSummaryDto(userId, requestDto.bookId(),
+                totals.getQuantity(), totals.getCartItems(), totals.getTotalQuantity());
     }
 
     @Override
-    public ShoppingCartDto getShoppingCart(String email) {
-        ShoppingCart shoppingCart = getShoppingCartByEmail(email);
-        return shoppingCartMapper.toDto(shoppingCart);
+    @Transactional
+    public ShoppingCartDto addBooksToShoppingCart(CartItemsRequestDto requestDto, Long userId) {
+        Map<Long, Integer> quantities = requestDto.cartItems().stream()
+                .collect(Collectors.toMap(CartItemRequestDto::bookId,
+                        CartItemRequestDto::quantity, Integer::sum, TreeMap::new));
+        Set<Long> missingBookIds = new TreeSet<>(quantities.keySet());
+        bookRepository.findExistingIds(quantities.keySet()).forEach(missingBookIds::remove);
+        if (!missingBookIds.isEmpty()) {
+            throw new EntityNotFoundException("Can't find books with ids: " + missingBookIds);
+        }
+        jdbcTemplate.batchUpdate(CartItemRepository.ADD_QUANTITY, quantities.entrySet(),
+                quantities.size(), (statement, quantity) -> {
+                    statement.setLong(1, userId);
+                    statement.setLong(2, quantity.getKey());
+                    statement.setInt(3, quantity.getValue());
+                });
+        return getShoppingCart(userId);
+    }
+
+    @Override
+    public ShoppingCartDto getShoppingCart(Long userId) {
+        return shoppingCartMapper.toDto(getShoppingCartById(userId));
     }
 
     @Override
-    public void deleteItemFromShoppingCart(Long id, String email) {
-        cartItemRepository.deleteById(id);
+    @Transactional
+    public void deleteItemFromShoppingCart(Long id, Long userId) {
+        if (cartItemRepository.deleteByIdAndShoppingCartId(id, userId) == 0) {
+            throw new EntityNotFoundException("Can't find cart item with id: " + id);
+        }
     }
 
     @Override
-    public CartItemDto updateQuantity(Long id, int quantity, String email) {
-        ShoppingCart shoppingCart = getShoppingCartByEmail(email);
+    public CartItemDto updateQuantity(Long id, int quantity, Long userId) {
+        ShoppingCart shoppingCart = getShoppingCartById(userId);
         CartItem cartItem = shoppingCart.getCartItems().stream()
                 .filter(c -> c.getId().equals(id))
                 .findFirst()
@@ -70,27 +96,11 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
         return cartItemMapper.toDto(cartItemRepository.save(cartItem));
     }
 
-    private ShoppingCart getShoppingCartByEmail(String email) {
-        return shoppingCartRepository
-                .getShoppingCartById(userRepository.findByEmail(email).orElseThrow(
-                                () -> new EntityNotFoundException(
-                                        "Can't find shopping cart to email" + email))
-                        .getId());
-    }
-
-    private CartItem createCartItem(CartItemRequestDto requestDto, ShoppingCart shoppingCart) {
-        CartItem cartItem = new CartItem();
-        cartItem.setBook(bookMapper.toModel(bookService.findBookById(requestDto.bookId())));
-        cartItem.setQuantity(requestDto.quantity());
-        cartItem.setShoppingCart(shoppingCart);
-        shoppingCart.getCartItems().add(cartItem);
-        return cartItem;
-    }
-
-    private Optional<CartItem> findCartItemInShoppingCart(ShoppingCart shoppingCart, Long id) {
-        return shoppingCart.getCartItems().stream()
-                .filter(cartItem -> cartItem.getBook().getId().equals(id))
-                .findFirst();
-
+    private ShoppingCart getShoppingCartById(Long userId) {
+        ShoppingCart shoppingCart = shoppingCartRepository.getShoppingCartById(userId);
+        if (shoppingCart == null) {
+            throw new EntityNotFoundException("Can't find shopping cart for user " + userId);
+        }
+        return shoppingCart;
     }
 }
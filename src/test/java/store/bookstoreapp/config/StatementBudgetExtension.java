@@ -0,0 +1,21 @@
+package store.bookstoreapp.config;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+public class StatementBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxStatements.class)
+                .or(() -> AnnotationSupport.findAnnotation(
+                        context.getRequiredTestClass(), MaxStatements.class))
+                .ifPresent(maxStatements -> StatementRecorder.setBudget(maxStatements.value()));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        StatementRecorder.clearBudget();
+    }
+}
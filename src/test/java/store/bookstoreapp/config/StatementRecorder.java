@@ -0,0 +1,67 @@
+package store.bookstoreapp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+public class StatementRecorder extends OncePerRequestFilter implements StatementInspector {
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+    private static volatile Integer budget;
+
+    private final StatementInspector delegate;
+    private volatile List<String> lastRequestStatements = List.of();
+
+    public StatementRecorder(StatementInspector delegate) {
+        this.delegate = delegate;
+    }
+
+    public static void setBudget(int maxStatements) {
+        budget = maxStatements;
+    }
+
+    public static void clearBudget() {
+        budget = null;
+    }
+
+    public List<String> getLastRequestStatements() {
+        return lastRequestStatements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        String inspectedSql = delegate.inspect(sql);
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(inspectedSql);
+        }
+        return inspectedSql;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            STATEMENTS.remove();
+            lastRequestStatements = List.copyOf(statements);
+        }
+        Integer maxStatements = budget;
+        if (maxStatements != null && statements.size() > maxStatements) {
+            throw new AssertionError(request.getMethod() + " " + request.getRequestURI()
+                    + " issued " + statements.size() + " SQL statements, the budget is "
+                    + maxStatements + ":\n  " + String.join("\n  ", statements));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package store.bookstoreapp.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import store.bookstoreapp.monitoring.RequestStatementsFilter;
+
+@TestConfiguration
+public class StatementRecorderConfig {
+    @Bean
+    public StatementRecorder statementRecorder(RequestStatementsFilter requestStatementsFilter) {
+        return new StatementRecorder(requestStatementsFilter);
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public HibernatePropertiesCustomizer statementRecorderCustomizer(
+            StatementRecorder statementRecorder
+    ) {
+        return properties -> properties.put(
+                AvailableSettings.STATEMENT_INSPECTOR, statementRecorder);
+    }
+}
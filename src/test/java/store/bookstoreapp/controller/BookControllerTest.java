@@ -3,6 +3,7 @@ package store.bookstoreapp.controller;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.sql.Connection;
@@ -11,6 +12,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
@@ -19,7 +21,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -30,10 +34,24 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.testcontainers.shaded.org.apache.commons.lang3.builder.EqualsBuilder;
+import store.bookstoreapp.config.MaxStatements;
+import store.bookstoreapp.config.StatementRecorder;
+import store.bookstoreapp.config.StatementRecorderConfig;
+import store.bookstoreapp.dto.book.AuthorFacetDto;
 import store.bookstoreapp.dto.book.BookDto;
+import store.bookstoreapp.dto.book.BookImportErrorDto;
+import store.bookstoreapp.dto.book.BookImportResultDto;
+import store.bookstoreapp.dto.book.BookSearchResultDto;
+import store.bookstoreapp.dto.book.CategoryFacetDto;
 import store.bookstoreapp.dto.book.CreateBookRequestDto;
+import store.bookstoreapp.dto.book.PriceFacetDto;
+import store.bookstoreapp.dto.page.CursorPageDto;
+import store.bookstoreapp.repository.category.CategorySnapshotHolder;
+import store.bookstoreapp.search.BookCategoryIndexLoader;
+import store.bookstoreapp.search.BookFacetIndexLoader;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(StatementRecorderConfig.class)
 public class BookControllerTest {
     private static final String VALID_TITLE = "Valid Title";
     private static final String VALID_AUTHOR = "Valid Author";
@@ -45,6 +63,14 @@ public class BookControllerTest {
     private static MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private StatementRecorder statementRecorder;
+    @Autowired
+    private BookCategoryIndexLoader bookCategoryIndexLoader;
+    @Autowired
+    private BookFacetIndexLoader bookFacetIndexLoader;
+    @Autowired
+    private CategorySnapshotHolder categorySnapshotHolder;
 
     @BeforeAll
     static void beforeAll(
@@ -54,6 +80,7 @@ public class BookControllerTest {
         mockMvc = MockMvcBuilders
                 .webAppContextSetup(applicationContext)
                 .apply(springSecurity())
+                .addFilters(applicationContext.getBean(StatementRecorder.class))
                 .build();
         teardown(dataSource);
         try (Connection connection = dataSource.getConnection()) {
@@ -103,6 +130,7 @@ public class BookControllerTest {
 
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     @Test
+    @MaxStatements(1)
     @Sql(
             scripts = "classpath:database/books/delete-default-book.sql",
             executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
@@ -146,6 +174,7 @@ public class BookControllerTest {
 
     @WithMockUser(username = "user", roles = "USER")
     @Test
+    @MaxStatements(2)
     @DisplayName("Get all books")
     public void getAll_ValidBooksInDb_ShouldReturnAllBooks() throws Exception {
         BookDto firstBook = new BookDto();
@@ -195,6 +224,195 @@ public class BookControllerTest {
 
     @WithMockUser(username = "user", roles = "USER")
     @Test
+    @MaxStatements(3)
+    @DisplayName("Get all books with the same number of queries for any page size")
+    public void getAll_GrowingPageSize_ShouldKeepQueryCountConstant() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books").param("size", "1"))
+                .andExpect(status().isOk());
+        int singleBookStatements = statementRecorder.getLastRequestStatements().size();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books").param("size", "3"))
+                .andExpect(status().isOk());
+
+        Assertions.assertEquals(singleBookStatements,
+                statementRecorder.getLastRequestStatements().size());
+    }
+
+    @WithMockUser(username = "user", roles = "USER")
+    @Test
+    @MaxStatements(2)
+    @DisplayName("Get all books page by page with a price cursor")
+    public void getAll_WithPriceCursor_ShouldWalkAllBooks() throws Exception {
+        CursorPageDto<BookDto> firstPage = getCursorPage("", "2");
+        CursorPageDto<BookDto> secondPage = getCursorPage(firstPage.nextCursor(), "2");
+
+        Assertions.assertEquals(List.of(1L, 2L),
+                firstPage.content().stream().map(BookDto::getId).toList());
+        Assertions.assertEquals(List.of(3L),
+                secondPage.content().stream().map(BookDto::getId).toList());
+        Assertions.assertNull(secondPage.nextCursor());
+    }
+
+    @WithMockUser(username = "user", roles = "USER")
+    @Test
+    @DisplayName("Get all books with a malformed cursor")
+    public void getAll_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books")
+                        .param("after", "not a cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    private CursorPageDto<BookDto> getCursorPage(String after, String size) throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/books")
+                        .param("after", after)
+                        .param("size", size)
+                        .param("sort", "price")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsByteArray(),
+                new TypeReference<>() {
+                });
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Export all books as ndjson")
+    public void export_NdjsonFormat_ShouldStreamAllBooks() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/books/export")
+                        .param("format", "ndjson"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<Long> actual = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            actual.add(objectMapper.readValue(line, BookDto.class).getId());
+        }
+        Assertions.assertEquals(List.of(1L, 2L, 3L), actual);
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Export all books as csv")
+    public void export_CsvFormat_ShouldStreamHeaderAndAllBooks() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/books/export")
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        Assertions.assertEquals(4, lines.length);
+        Assertions.assertEquals(
+                "id,title,author,isbn,price,description,coverImage,categoryIds", lines[0]);
+        Assertions.assertEquals(
+                "1,\"First title\",\"First Author\",1ISBN01,9.99,description,coverimage,",
+                lines[1]);
+    }
+
+    @WithMockUser(username = "user", roles = "USER")
+    @Test
+    @DisplayName("Export is forbidden for users")
+    public void export_UserRole_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/export"))
+                .andExpect(status().isForbidden());
+    }
+
+    @WithMockUser(username = "user", roles = "USER")
+    @Test
+    @MaxStatements(3)
+    @DisplayName("Get book by id answers 304 for a matching ETag")
+    public void getBookById_MatchingEtag_ReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", 1L))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotNull(etag);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        Assertions.assertEquals("", result.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @Sql(
+            scripts = "classpath:database/categories/add-default-category.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    "classpath:database/books/delete-imported-books.sql",
+                    "classpath:database/categories/delete-default-category.sql"
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Import books from ndjson")
+    public void importBooks_NdjsonFormat_ShouldInsertValidAndReportInvalidRows()
+            throws Exception {
+        String content = """
+                {"title":"Imported","author":"Author","isbn":"IMPORT01","price":5,"categoryIds":[4]}
+                {"title":"Copy","author":"Author","isbn":"1ISBN01","price":5}
+                {"title":"No author","isbn":"IMPORT02","price":5}
+                {"title":"Unknown","author":"Author","isbn":"IMPORT03","price":5,"categoryIds":[9]}
+                """;
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/api/books/import")
+                        .content(content)
+                        .contentType("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookImportResultDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookImportResultDto.class);
+        Assertions.assertEquals(1, actual.imported());
+        Assertions.assertEquals(1, actual.duplicates());
+        Assertions.assertEquals(2, actual.rejected());
+        Assertions.assertEquals(List.of(3L, 4L), actual.errors().stream()
+                .map(BookImportErrorDto::row)
+                .toList());
+        List<BookDto> books = objectMapper.readValue(mockMvc.perform(
+                        MockMvcRequestBuilders.get("/api/categories/{id}/books", 4L))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                new TypeReference<>() {});
+        Assertions.assertEquals(List.of("IMPORT01"), books.stream()
+                .map(BookDto::getIsbn)
+                .toList());
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @Sql(
+            scripts = "classpath:database/books/delete-imported-books.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Import books from csv with the export header")
+    public void importBooks_CsvFormat_ShouldInsertRows() throws Exception {
+        String content = """
+                id,title,author,isbn,price,description,coverImage,categoryIds
+                ,"Csv title","Csv Author",CSV01,9.99,,,
+                ,"Csv title","Csv Author",CSV02,not a price,,,
+                """;
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/api/books/import")
+                        .param("format", "csv")
+                        .content(content)
+                        .contentType("text/csv"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookImportResultDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookImportResultDto.class);
+        Assertions.assertEquals(1, actual.imported());
+        Assertions.assertEquals(1, actual.rejected());
+        Assertions.assertEquals(2L, actual.errors().get(0).row());
+    }
+
+    @WithMockUser(username = "user", roles = "USER")
+    @Test
+    @MaxStatements(3)
     @DisplayName("Verify getBookById with endpoint /{id}")
     public void getBookById_ValidId_ReturnBookDto() throws Exception {
         BookDto expected = new BookDto();
@@ -220,6 +438,7 @@ public class BookControllerTest {
 
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     @Test
+    @MaxStatements(3)
     @Sql(
             scripts = "classpath:database/books/add-default-book.sql",
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
@@ -238,6 +457,7 @@ public class BookControllerTest {
 
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     @Test
+    @MaxStatements(3)
     @Sql(
             scripts = "classpath:database/books/add-default-book.sql",
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
@@ -283,6 +503,7 @@ public class BookControllerTest {
 
     @WithMockUser(username = "user", roles = "USER")
     @Test
+    @MaxStatements(2)
     @Sql(
             scripts = "classpath:database/books/add-default-book.sql",
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
@@ -316,4 +537,139 @@ public class BookControllerTest {
                 .readValue(result.getResponse().getContentAsString(), BookDto[].class);
         Assertions.assertArrayEquals(expectedBooks.toArray(new BookDto[0]), actualBooks);
     }
+
+    @WithMockUser(username = "user", roles = "USER")
+    @Test
+    @MaxStatements(2)
+    @Sql(scripts = {
+            "classpath:database/categories/add-default-category.sql",
+            "classpath:database/books/add-default-book.sql",
+            "classpath:database/categories/set-category-to-default-book.sql"
+    }, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {
+            "classpath:database/categories/clear-books-category-table.sql",
+            "classpath:database/categories/delete-default-category.sql",
+            "classpath:database/books/delete-default-book.sql"
+    }, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Search books in and outside of categories")
+    public void search_WithCategoryFilters_ShouldReturnBooksOfCategories() throws Exception {
+        bookCategoryIndexLoader.load();
+        BookDto expected = createBookDto(
+                4L,
+                "Valid Title",
+                "Valid Author",
+                VALID_PRICE,
+                VALID_ISBN,
+                VALID_DESCRIPTION,
+                VALID_COVER_IMAGE
+        );
+        expected.setCategoryIds(Set.of(4L));
+
+        MvcResult inCategory = mockMvc
+                .perform(MockMvcRequestBuilders.get("/api/books/search")
+                        .param("categoryIds", "4")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult notInCategory = mockMvc
+                .perform(MockMvcRequestBuilders.get("/api/books/search")
+                        .param("excludedCategoryIds", "4")
+                        .param("size", "2")
+                        .param("sort", "id,desc")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        Assertions.assertArrayEquals(new BookDto[] {expected}, objectMapper.readValue(
+                inCategory.getResponse().getContentAsString(), BookDto[].class));
+        Assertions.assertEquals(List.of(3L, 2L), Arrays.stream(objectMapper.readValue(
+                        notInCategory.getResponse().getContentAsString(), BookDto[].class))
+                .map(BookDto::getId)
+                .toList());
+    }
+
+    @WithMockUser(username = "user", roles = "USER")
+    @Test
+    @MaxStatements(2)
+    @Sql(scripts = {
+            "classpath:database/categories/add-default-category.sql",
+            "classpath:database/books/add-default-book.sql",
+            "classpath:database/categories/set-category-to-default-book.sql"
+    }, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {
+            "classpath:database/categories/clear-books-category-table.sql",
+            "classpath:database/categories/delete-default-category.sql",
+            "classpath:database/books/delete-default-book.sql"
+    }, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Search books in a price range and in categories")
+    public void search_WithPriceFilters_ShouldReturnBooksInPriceRange() throws Exception {
+        bookCategoryIndexLoader.load();
+
+        MvcResult inPriceRange = mockMvc
+                .perform(MockMvcRequestBuilders.get("/api/books/search")
+                        .param("minPrice", "10")
+                        .param("maxPrice", "19.99")
+                        .param("sort", "id")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult inCategoryAndPriceRange = mockMvc
+                .perform(MockMvcRequestBuilders.get("/api/books/search")
+                        .param("categoryIds", "4")
+                        .param("maxPrice", "50")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        Assertions.assertEquals(List.of(2L, 3L), Arrays.stream(objectMapper.readValue(
+                        inPriceRange.getResponse().getContentAsString(), BookDto[].class))
+                .map(BookDto::getId)
+                .toList());
+        Assertions.assertArrayEquals(new BookDto[0], objectMapper.readValue(
+                inCategoryAndPriceRange.getResponse().getContentAsString(), BookDto[].class));
+    }
+
+    @WithMockUser(username = "user", roles = "USER")
+    @Test
+    @MaxStatements(3)
+    @Sql(scripts = {
+            "classpath:database/categories/add-default-category.sql",
+            "classpath:database/books/add-default-book.sql",
+            "classpath:database/categories/set-category-to-default-book.sql"
+    }, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {
+            "classpath:database/categories/clear-books-category-table.sql",
+            "classpath:database/categories/delete-default-category.sql",
+            "classpath:database/books/delete-default-book.sql"
+    }, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Search books with facet counts of all matching books")
+    public void searchWithFacets_ShouldReturnPageAndFacets() throws Exception {
+        categorySnapshotHolder.refresh();
+        bookFacetIndexLoader.load();
+
+        MvcResult result = mockMvc
+                .perform(MockMvcRequestBuilders.get("/api/books/search")
+                        .param("facets", "true")
+                        .param("size", "2")
+                        .param("sort", "id,desc")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookSearchResultDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookSearchResultDto.class);
+        Assertions.assertEquals(List.of(4L, 3L), actual.books().stream()
+                .map(BookDto::getId)
+                .toList());
+        Assertions.assertEquals(4, actual.facets().total());
+        Assertions.assertEquals(List.of(new CategoryFacetDto(4L, "Valid Category", 1)),
+                actual.facets().categories());
+        Assertions.assertEquals(List.of("First Author", "Second Author", "Third Author",
+                VALID_AUTHOR), actual.facets().authors().stream()
+                .map(AuthorFacetDto::author)
+                .toList());
+        Assertions.assertEquals(List.of(1L, 2L, 0L, 1L, 0L), actual.facets().prices().stream()
+                .map(PriceFacetDto::count)
+                .toList());
+    }
 }
@@ -3,6 +3,7 @@ package store.bookstoreapp.controller;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.sql.Connection;
@@ -14,11 +15,14 @@ import javax.sql.DataSource;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -29,11 +33,17 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.testcontainers.shaded.org.apache.commons.lang3.builder.EqualsBuilder;
+import store.bookstoreapp.config.MaxStatements;
+import store.bookstoreapp.config.StatementRecorder;
+import store.bookstoreapp.config.StatementRecorderConfig;
 import store.bookstoreapp.dto.book.BookDtoWithoutCategoryIds;
 import store.bookstoreapp.dto.category.CategoryDto;
 import store.bookstoreapp.dto.category.CategoryRequestDto;
+import store.bookstoreapp.dto.page.CursorPageDto;
+import store.bookstoreapp.repository.category.CategorySnapshotHolder;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(StatementRecorderConfig.class)
 public class CategoryControllerTest {
 
     private static MockMvc mockMvc;
@@ -41,6 +51,9 @@ public class CategoryControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CategorySnapshotHolder categorySnapshotHolder;
+
     @BeforeAll
     static void beforeAll(
             @Autowired DataSource dataSource,
@@ -49,6 +62,7 @@ public class CategoryControllerTest {
         mockMvc = MockMvcBuilders
                 .webAppContextSetup(applicationContext)
                 .apply(springSecurity())
+                .addFilters(applicationContext.getBean(StatementRecorder.class))
                 .build();
         teardown(dataSource);
         try (Connection connection = dataSource.getConnection()) {
@@ -67,6 +81,11 @@ public class CategoryControllerTest {
         teardown(dataSource);
     }
 
+    @BeforeEach
+    void setUp() {
+        categorySnapshotHolder.refresh();
+    }
+
     static void teardown(DataSource dataSource) throws SQLException {
         try (Connection connection = dataSource.getConnection()) {
             connection.setAutoCommit(true);
@@ -79,6 +98,7 @@ public class CategoryControllerTest {
 
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     @Test
+    @MaxStatements(3)
     @Sql(
             scripts = "classpath:database/categories/delete-default-category.sql",
             executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
@@ -108,6 +128,7 @@ public class CategoryControllerTest {
 
     @WithMockUser(username = "user", roles = "USER")
     @Test
+    @MaxStatements(0)
     @DisplayName("getAll() categories")
     public void getAll_ThreeValidCategoryInDb_ShouldReturnAllCategories() throws Exception {
         CategoryDto firstDto = new CategoryDto(1L, "First name", "Description");
@@ -132,6 +153,7 @@ public class CategoryControllerTest {
 
     @WithMockUser(username = "user", roles = "USER")
     @Test
+    @MaxStatements(0)
     @DisplayName("Verify getCategoryById() with endpoint /{id}")
     public void getCategoryById_ValidId_ReturnCategoryDto() throws Exception {
         CategoryDto expected = new CategoryDto(1L, "First name", "Description");
@@ -151,6 +173,7 @@ public class CategoryControllerTest {
 
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     @Test
+    @MaxStatements(5)
     @Sql(
             scripts = "classpath:database/categories/add-default-category.sql",
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
@@ -168,6 +191,43 @@ public class CategoryControllerTest {
 
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     @Test
+    @MaxStatements(4)
+    @Sql(
+            scripts = "classpath:database/categories/add-default-category.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = "classpath:database/categories/delete-default-category.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Get category by id answers 304 until the category is updated")
+    public void getCategoryById_MatchingEtag_ReturnNotModifiedUntilUpdate() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/categories/{id}", 4L))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotNull(etag);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/categories/{id}", 4L)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        CategoryRequestDto requestDto = new CategoryRequestDto();
+        requestDto.setName("Updated Category");
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/categories/{id}", 4L)
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        String updatedEtag = mockMvc.perform(MockMvcRequestBuilders
+                        .get("/api/categories/{id}", 4L)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Assertions.assertNotEquals(etag, updatedEtag);
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @MaxStatements(4)
     @DisplayName("Verify updateCategory() method works")
     @Sql(
             scripts = "classpath:database/categories/add-default-category.sql",
@@ -204,6 +264,7 @@ public class CategoryControllerTest {
 
     @WithMockUser(username = "user", roles = "USER")
     @Test
+    @MaxStatements(2)
     @Sql(scripts = {
             "classpath:database/categories/add-default-category.sql",
             "classpath:database/books/add-default-book.sql",
@@ -236,4 +297,36 @@ public class CategoryControllerTest {
 
         Assertions.assertArrayEquals(expected.toArray(new BookDtoWithoutCategoryIds[0]), actual);
     }
+
+    @WithMockUser(username = "user", roles = "USER")
+    @Test
+    @MaxStatements(2)
+    @Sql(scripts = {
+            "classpath:database/categories/add-default-category.sql",
+            "classpath:database/books/add-default-book.sql",
+            "classpath:database/categories/set-category-to-default-book.sql"
+    }, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {
+            "classpath:database/categories/clear-books-category-table.sql",
+            "classpath:database/categories/delete-default-category.sql",
+            "classpath:database/books/delete-default-book.sql"
+    }, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Verify getBookCategoryById() method works with a cursor")
+    public void getBookByCategoryId_WithCursor_LastPageWithoutNextCursor() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+                        .get("/api/categories/{id}/books", 4L)
+                        .param("after", "")
+                        .param("size", "10")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        CursorPageDto<BookDtoWithoutCategoryIds> actual = objectMapper.readValue(result
+                .getResponse().getContentAsByteArray(), new TypeReference<>() {
+                });
+
+        Assertions.assertEquals(List.of(4L), actual.content().stream()
+                .map(BookDtoWithoutCategoryIds::getId)
+                .toList());
+        Assertions.assertNull(actual.nextCursor());
+    }
 }
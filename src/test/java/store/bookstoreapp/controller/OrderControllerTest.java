@@ -0,0 +1,275 @@
+package store.bookstoreapp.controller;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import store.bookstoreapp.config.MaxStatements;
+import store.bookstoreapp.config.StatementRecorder;
+import store.bookstoreapp.config.StatementRecorderConfig;
+import store.bookstoreapp.dto.order.OrderDto;
+import store.bookstoreapp.dto.order.ShoppingAddressDto;
+import store.bookstoreapp.dto.orderitem.OrderItemDto;
+import store.bookstoreapp.dto.page.CursorPageDto;
+import store.bookstoreapp.dto.shoppingcart.ShoppingCartDto;
+import store.bookstoreapp.model.Order;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(StatementRecorderConfig.class)
+public class OrderControllerTest {
+    private static final int PLACE_ORDER_STATEMENTS = 5;
+    private static final int GET_ORDERS_STATEMENTS = 2;
+    private static final int GET_ORDER_ITEMS_STATEMENTS = 3;
+    private static final int GET_ORDER_ITEM_STATEMENTS = 3;
+
+    private static MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @BeforeAll
+    static void beforeAll(
+            @Autowired DataSource dataSource,
+            @Autowired WebApplicationContext applicationContext
+    ) throws SQLException {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .addFilters(applicationContext.getBean(StatementRecorder.class))
+                .build();
+        teardown(dataSource);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/users/create-default-user-and-shoppingcart.sql")
+            );
+            ScriptUtils.executeSqlScript(
+                    connection, new ClassPathResource("database/books/add-three-books.sql")
+            );
+        }
+    }
+
+    @AfterAll
+    static void afterAll(
+            @Autowired DataSource dataSource
+    ) throws SQLException {
+        teardown(dataSource);
+    }
+
+    static void teardown(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection, new ClassPathResource("database/orders/delete-all-from-orders.sql")
+            );
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/shoppingcart/delete-all-from-cartitem.sql")
+            );
+            ScriptUtils.executeSqlScript(
+                    connection, new ClassPathResource("database/books/delete-all-from-books.sql")
+            );
+            ScriptUtils.executeSqlScript(
+                    connection, new ClassPathResource("database/users/delete-all-users.sql")
+            );
+        }
+    }
+
+    @WithUserDetails("test@email.com")
+    @Test
+    @MaxStatements(5)
+    @Sql(
+            scripts = "classpath:database/shoppingcart/create-three-cart-items.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    "classpath:database/orders/delete-all-from-orders.sql",
+                    "classpath:database/shoppingcart/delete-all-from-cartitem.sql"
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Place order moves all cart items into the order and empties the cart")
+    public void placeOrder_ThreeCartItems_ReturnOrderAndClearCart() throws Exception {
+        OrderDto actual = objectMapper.readValue(placeOrder().getResponse().getContentAsString(),
+                OrderDto.class);
+
+        Assertions.assertEquals(0, BigDecimal.valueOf(109.94).compareTo(actual.getTotal()));
+        Assertions.assertEquals(List.of(1L, 2L, 3L), actual.getOrderItems().stream()
+                .sorted(Comparator.comparing(OrderItemDto::bookId))
+                .map(OrderItemDto::bookId)
+                .toList());
+        ShoppingCartDto shoppingCart = objectMapper.readValue(mockMvc.perform(get("/api/cart"))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                ShoppingCartDto.class);
+        Assertions.assertTrue(shoppingCart.getCartItems().isEmpty());
+    }
+
+    @WithUserDetails("test@email.com")
+    @Test
+    @MaxStatements(5)
+    @Sql(
+            scripts = "classpath:database/shoppingcart/create-three-cart-items.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    "classpath:database/orders/delete-all-from-orders.sql",
+                    "classpath:database/shoppingcart/delete-all-from-cartitem.sql"
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Place order runs a fixed number of statements for three cart items")
+    public void placeOrder_ThreeCartItems_ShouldKeepStatementBudget() throws Exception {
+        placeOrder();
+
+        Assertions.assertEquals(PLACE_ORDER_STATEMENTS,
+                statementRecorder.getLastRequestStatements().size());
+    }
+
+    @WithUserDetails("test@email.com")
+    @Test
+    @MaxStatements(5)
+    @Sql(
+            scripts = {
+                    "classpath:database/books/add-default-book.sql",
+                    "classpath:database/shoppingcart/create-cart-item.sql"
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    "classpath:database/orders/delete-all-from-orders.sql",
+                    "classpath:database/shoppingcart/delete-all-from-cartitem.sql",
+                    "classpath:database/books/delete-default-book.sql"
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Place order runs a fixed number of statements for a single cart item")
+    public void placeOrder_SingleCartItem_ShouldKeepStatementBudget() throws Exception {
+        placeOrder();
+
+        Assertions.assertEquals(PLACE_ORDER_STATEMENTS,
+                statementRecorder.getLastRequestStatements().size());
+    }
+
+    @WithUserDetails("test@email.com")
+    @Test
+    @MaxStatements(5)
+    @Sql(
+            scripts = "classpath:database/shoppingcart/create-three-cart-items.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    "classpath:database/orders/delete-all-from-orders.sql",
+                    "classpath:database/shoppingcart/delete-all-from-cartitem.sql"
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Order read endpoints run a fixed number of statements")
+    public void orderEndpoints_PlacedOrder_ShouldKeepStatementBudgets() throws Exception {
+        OrderDto order = objectMapper.readValue(placeOrder().getResponse().getContentAsString(),
+                OrderDto.class);
+        final Long orderItemId = order.getOrderItems().get(0).id();
+
+        mockMvc.perform(get("/api/orders")).andExpect(status().isOk());
+        Assertions.assertEquals(GET_ORDERS_STATEMENTS,
+                statementRecorder.getLastRequestStatements().size());
+        mockMvc.perform(get("/api/orders/{orderId}/items", order.getId()))
+                .andExpect(status().isOk());
+        Assertions.assertEquals(GET_ORDER_ITEMS_STATEMENTS,
+                statementRecorder.getLastRequestStatements().size());
+        mockMvc.perform(get("/api/orders/{orderId}/items/{orderItemId}",
+                        order.getId(), orderItemId))
+                .andExpect(status().isOk());
+        Assertions.assertEquals(GET_ORDER_ITEM_STATEMENTS,
+                statementRecorder.getLastRequestStatements().size());
+    }
+
+    @WithUserDetails("test@email.com")
+    @Test
+    @MaxStatements(1)
+    @Sql(
+            scripts = "classpath:database/orders/add-three-orders.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = "classpath:database/orders/delete-all-from-orders.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Get orders newest first page by page with an order date cursor")
+    public void getAllOrders_WithCursor_ShouldWalkAllOrders() throws Exception {
+        CursorPageDto<OrderDto> firstPage = getOrdersPage("");
+        CursorPageDto<OrderDto> secondPage = getOrdersPage(firstPage.nextCursor());
+
+        Assertions.assertEquals(List.of(13L, 12L),
+                firstPage.content().stream().map(OrderDto::getId).toList());
+        Assertions.assertTrue(firstPage.content().get(0).getOrderItems().isEmpty());
+        Assertions.assertEquals(List.of(2L, 3L), firstPage.content().get(1).getOrderItems()
+                .stream()
+                .map(OrderItemDto::bookId)
+                .toList());
+        Assertions.assertEquals(List.of(11L),
+                secondPage.content().stream().map(OrderDto::getId).toList());
+        Assertions.assertEquals(Order.Status.COMPLETED, secondPage.content().get(0).getStatus());
+        Assertions.assertNull(secondPage.nextCursor());
+    }
+
+    @WithUserDetails("test@email.com")
+    @Test
+    @DisplayName("Get orders with a malformed cursor")
+    public void getAllOrders_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/orders").param("after", "not a cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private CursorPageDto<OrderDto> getOrdersPage(String after) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/orders")
+                        .param("after", after)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsByteArray(),
+                new TypeReference<>() {
+                });
+    }
+
+    private MvcResult placeOrder() throws Exception {
+        return mockMvc.perform(post("/api/orders")
+                        .content(objectMapper.writeValueAsString(
+                                new ShoppingAddressDto("Shipping address")))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
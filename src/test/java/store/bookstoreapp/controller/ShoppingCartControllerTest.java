@@ -1,5 +1,6 @@
 package store.bookstoreapp.controller;
 
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -10,8 +11,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
@@ -20,27 +25,45 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
-import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.testcontainers.shaded.org.apache.commons.lang3.builder.EqualsBuilder;
+import store.bookstoreapp.config.MaxStatements;
+import store.bookstoreapp.config.StatementRecorder;
+import store.bookstoreapp.config.StatementRecorderConfig;
 import store.bookstoreapp.dto.cartitem.CartItemDto;
 import store.bookstoreapp.dto.cartitem.CartItemRequestDto;
+import store.bookstoreapp.dto.cartitem.CartItemsRequestDto;
 import store.bookstoreapp.dto.cartitem.QuantityDto;
 import store.bookstoreapp.dto.shoppingcart.ShoppingCartDto;
+import store.bookstoreapp.dto.shoppingcart.ShoppingCartSummaryDto;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(StatementRecorderConfig.class)
 public class ShoppingCartControllerTest {
+    private static final int CONCURRENT_CLIENTS = 8;
+    private static final int CONCURRENT_ADDS = 40;
+    private static final int GET_CART_STATEMENTS = 3;
+    private static final int ADD_BOOK_STATEMENTS = 3;
+    private static final int UPDATE_QUANTITY_STATEMENTS = 4;
+    private static final int DELETE_CART_ITEM_STATEMENTS = 1;
 
     private static MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private UserDetailsService userDetailsService;
+    @Autowired
+    private StatementRecorder statementRecorder;
 
     @BeforeAll
     static void beforeAll(
@@ -50,6 +73,7 @@ public class ShoppingCartControllerTest {
         mockMvc = MockMvcBuilders
                 .webAppContextSetup(applicationContext)
                 .apply(springSecurity())
+                .addFilters(applicationContext.getBean(StatementRecorder.class))
                 .build();
         teardown(dataSource);
         try (Connection connection = dataSource.getConnection()) {
@@ -77,8 +101,9 @@ public class ShoppingCartControllerTest {
         }
     }
 
-    @WithMockUser(username = "test@email.com", roles = "USER")
+    @WithUserDetails("test@email.com")
     @Test
+    @MaxStatements(3)
     @Sql(
             scripts = {
                     "classpath:database/books/add-default-book.sql",
@@ -93,13 +118,11 @@ public class ShoppingCartControllerTest {
             executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
     )
     @DisplayName("Verify addBookToShoppingCart() method works")
-    public void addBookToShoppingCart_ValidRequestDto_ReturnShoppingCartDto() throws Exception {
+    public void addBookToShoppingCart_ValidRequestDto_ReturnShoppingCartSummaryDto()
+            throws Exception {
         CartItemRequestDto requestDto = new CartItemRequestDto(4L, 2);
         String jsonRequest = objectMapper.writeValueAsString(requestDto);
-        ShoppingCartDto expected = new ShoppingCartDto();
-        expected.setUserId(1L);
-        CartItemDto cartItemDto = new CartItemDto(1L, 4L, "Valid Title", 2);
-        expected.setCartItems(List.of(cartItemDto));
+        ShoppingCartSummaryDto expected = new ShoppingCartSummaryDto(1L, 4L, 2, 1L, 2L);
 
         MvcResult result = mockMvc.perform(post("/api/cart")
                         .content(jsonRequest)
@@ -107,15 +130,133 @@ public class ShoppingCartControllerTest {
                 .andExpect(status().isCreated())
                 .andReturn();
 
+        ShoppingCartSummaryDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), ShoppingCartSummaryDto.class);
+
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    @MaxStatements(3)
+    @Sql(
+            scripts = {
+                    "classpath:database/books/add-default-book.sql",
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    "classpath:database/shoppingcart/delete-all-from-cartitem.sql",
+                    "classpath:database/books/delete-default-book.sql"
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Verify concurrent addBookToShoppingCart() calls add up in one cart item")
+    public void addBookToShoppingCart_ConcurrentRequests_SumQuantities() throws Exception {
+        String jsonRequest = objectMapper.writeValueAsString(new CartItemRequestDto(4L, 1));
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CLIENTS);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_ADDS; i++) {
+                statuses.add(executor.submit(() -> mockMvc.perform(post("/api/cart")
+                                .with(user(userDetailsService.loadUserByUsername("test@email.com")))
+                                .content(jsonRequest)
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andReturn().getResponse().getStatus()));
+            }
+            for (Future<Integer> status : statuses) {
+                Assertions.assertEquals(201, status.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/cart")
+                        .with(user(userDetailsService.loadUserByUsername("test@email.com"))))
+                .andExpect(status().isOk())
+                .andReturn();
         ShoppingCartDto actual = objectMapper
                 .readValue(result.getResponse().getContentAsString(), ShoppingCartDto.class);
 
-        Assertions.assertNotNull(actual);
-        EqualsBuilder.reflectionEquals(expected, actual);
+        Assertions.assertEquals(1, actual.getCartItems().size());
+        Assertions.assertEquals(CONCURRENT_ADDS, actual.getCartItems().get(0).quantity());
+    }
+
+    @WithUserDetails("test@email.com")
+    @Test
+    @MaxStatements(4)
+    @Sql(
+            scripts = {
+                    "classpath:database/books/add-default-book.sql",
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    "classpath:database/shoppingcart/delete-all-from-cartitem.sql",
+                    "classpath:database/books/delete-default-book.sql"
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Verify addBooksToShoppingCart() method merges books into cart items")
+    public void addBooksToShoppingCart_ValidRequestDto_ReturnShoppingCartDto() throws Exception {
+        CartItemsRequestDto requestDto = new CartItemsRequestDto(List.of(
+                new CartItemRequestDto(4L, 2),
+                new CartItemRequestDto(4L, 3)));
+        String jsonRequest = objectMapper.writeValueAsString(requestDto);
+
+        MvcResult result = mockMvc.perform(post("/api/cart/batch")
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn();
+        ShoppingCartDto actual = objectMapper
+                .readValue(result.getResponse().getContentAsString(), ShoppingCartDto.class);
+
+        Assertions.assertEquals(1, actual.getCartItems().size());
+        Assertions.assertEquals(4L, actual.getCartItems().get(0).bookId());
+        Assertions.assertEquals(5, actual.getCartItems().get(0).quantity());
+    }
+
+    @WithUserDetails("test@email.com")
+    @Test
+    @MaxStatements(3)
+    @Sql(
+            scripts = {
+                    "classpath:database/books/add-default-book.sql",
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    "classpath:database/shoppingcart/delete-all-from-cartitem.sql",
+                    "classpath:database/books/delete-default-book.sql"
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Verify addBooksToShoppingCart() adds nothing when a book is missing")
+    public void addBooksToShoppingCart_MissingBook_StatusNotFound() throws Exception {
+        CartItemsRequestDto requestDto = new CartItemsRequestDto(List.of(
+                new CartItemRequestDto(4L, 2),
+                new CartItemRequestDto(100L, 1)));
+        String jsonRequest = objectMapper.writeValueAsString(requestDto);
+
+        mockMvc.perform(post("/api/cart/batch")
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+        MvcResult result = mockMvc.perform(get("/api/cart"))
+                .andExpect(status().isOk())
+                .andReturn();
+        ShoppingCartDto actual = objectMapper
+                .readValue(result.getResponse().getContentAsString(), ShoppingCartDto.class);
+
+        Assertions.assertTrue(actual.getCartItems().isEmpty());
     }
 
-    @WithMockUser(username = "test@email.com", roles = "USER")
+    @WithUserDetails("test@email.com")
     @Test
+    @MaxStatements(3)
     @DisplayName("Verify getShoppingCart() method works")
     public void getShippingCart_ValidEmail_ReturnShoppingCart() throws Exception {
         ShoppingCartDto expected = new ShoppingCartDto();
@@ -133,8 +274,9 @@ public class ShoppingCartControllerTest {
         EqualsBuilder.reflectionEquals(expected, actual);
     }
 
-    @WithMockUser(username = "test@email.com", roles = "USER")
+    @WithUserDetails("test@email.com")
     @Test
+    @MaxStatements(1)
     @Sql(
             scripts = {
                     "classpath:database/books/add-default-book.sql",
@@ -157,8 +299,9 @@ public class ShoppingCartControllerTest {
                 .andExpect(status().isNoContent());
     }
 
-    @WithMockUser(username = "test@email.com", roles = "USER")
+    @WithUserDetails("test@email.com")
     @Test
+    @MaxStatements(4)
     @Sql(
             scripts = {
                     "classpath:database/books/add-default-book.sql",
@@ -195,6 +338,44 @@ public class ShoppingCartControllerTest {
         Assertions.assertNotNull(actual);
         EqualsBuilder.reflectionEquals(expected, actual);
     }
-}
-
 
+    @WithUserDetails("test@email.com")
+    @Test
+    @MaxStatements(4)
+    @Sql(
+            scripts = {
+                    "classpath:database/books/add-default-book.sql",
+                    "classpath:database/shoppingcart/create-cart-item.sql",
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    "classpath:database/shoppingcart/delete-all-from-cartitem.sql",
+                    "classpath:database/books/delete-default-book.sql",
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Verify cart endpoints run a fixed number of statements")
+    public void cartEndpoints_CartItemInDb_ShouldKeepStatementBudgets() throws Exception {
+        mockMvc.perform(get("/api/cart")).andExpect(status().isOk());
+        Assertions.assertEquals(GET_CART_STATEMENTS,
+                statementRecorder.getLastRequestStatements().size());
+        mockMvc.perform(post("/api/cart")
+                        .content(objectMapper.writeValueAsString(new CartItemRequestDto(4L, 1)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is2xxSuccessful());
+        Assertions.assertEquals(ADD_BOOK_STATEMENTS,
+                statementRecorder.getLastRequestStatements().size());
+        mockMvc.perform(put("/api/cart/cart-items/{id}", 1L)
+                        .content(objectMapper.writeValueAsString(new QuantityDto(5)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        Assertions.assertEquals(UPDATE_QUANTITY_STATEMENTS,
+                statementRecorder.getLastRequestStatements().size());
+        mockMvc.perform(delete("/api/cart/cart-items/{id}", 1L))
+                .andExpect(status().is2xxSuccessful());
+        Assertions.assertEquals(DELETE_CART_ITEM_STATEMENTS,
+                statementRecorder.getLastRequestStatements().size());
+    }
+}
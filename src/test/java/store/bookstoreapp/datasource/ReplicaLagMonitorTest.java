@@ -0,0 +1,96 @@
+package store.bookstoreapp.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ReplicaLagMonitorTest {
+    private static final String REPLICA = "replica-1";
+    private static final String LAG_QUERY = "SHOW REPLICA STATUS";
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final ResultSet resultSet = mock(ResultSet.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(LAG_QUERY)).thenReturn(resultSet);
+        replicaLagMonitor = new ReplicaLagMonitor(Map.of(REPLICA, dataSource),
+                LAG_QUERY, LAG_COLUMN, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicaLagMonitor.close();
+    }
+
+    @Test
+    @DisplayName("A replica should be unavailable until its lag has been checked")
+    public void isAvailable_NotChecked_ReturnFalse() {
+        assertThat(replicaLagMonitor.isAvailable(REPLICA)).isFalse();
+    }
+
+    @Test
+    @DisplayName("A replica within the lag budget should be available and report its lag")
+    public void check_LagWithinBudget_Available() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(LAG_COLUMN)).thenReturn(2L);
+
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isAvailable(REPLICA)).isTrue();
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", REPLICA)
+                .gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("A replica lagging past the budget should be unavailable")
+    public void check_LagOverBudget_Unavailable() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(LAG_COLUMN)).thenReturn(30L);
+
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isAvailable(REPLICA)).isFalse();
+    }
+
+    @Test
+    @DisplayName("A replica with stopped replication should be unavailable")
+    public void check_ReplicationStopped_Unavailable() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.wasNull()).thenReturn(true);
+
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isAvailable(REPLICA)).isFalse();
+    }
+
+    @Test
+    @DisplayName("An unreachable replica should be unavailable")
+    public void check_ConnectionFailure_Unavailable() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isAvailable(REPLICA)).isFalse();
+    }
+}
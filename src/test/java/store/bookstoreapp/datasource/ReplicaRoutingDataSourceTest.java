@@ -0,0 +1,133 @@
+package store.bookstoreapp.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.servlet.http.Cookie;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReplicaRoutingDataSourceTest {
+    private static final String FIRST_REPLICA = "replica-1";
+    private static final String SECOND_REPLICA = "replica-2";
+
+    private final DataSource primary = mock(DataSource.class);
+    private final ReplicaLagMonitor replicaLagMonitor = mock(ReplicaLagMonitor.class);
+    private final ReadYourWritesFilter readYourWritesFilter =
+            new ReadYourWritesFilter("read-your-writes-test-secret", Duration.ofMinutes(1));
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put(FIRST_REPLICA, mock(DataSource.class));
+        replicas.put(SECOND_REPLICA, mock(DataSource.class));
+        routingDataSource = new ReplicaRoutingDataSource(
+                primary, replicas, replicaLagMonitor, readYourWritesFilter);
+        when(replicaLagMonitor.isAvailable(FIRST_REPLICA)).thenReturn(true);
+        when(replicaLagMonitor.isAvailable(SECOND_REPLICA)).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Outside a transaction connections should come from the primary")
+    public void determineCurrentLookupKey_NoTransaction_ReturnPrimary() {
+        assertThat(routingDataSource.determineCurrentLookupKey())
+                .isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should be spread over the replicas")
+    public void determineCurrentLookupKey_ReadOnlyTransaction_ReturnReplicas() {
+        startTransaction(true);
+
+        assertThat(List.of(routingDataSource.determineCurrentLookupKey(),
+                routingDataSource.determineCurrentLookupKey()))
+                .containsExactly(FIRST_REPLICA, SECOND_REPLICA);
+    }
+
+    @Test
+    @DisplayName("Lagging replicas should be skipped, falling back to the primary")
+    public void determineCurrentLookupKey_LaggingReplicas_SkipThem() {
+        when(replicaLagMonitor.isAvailable(FIRST_REPLICA)).thenReturn(false);
+        startTransaction(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(SECOND_REPLICA);
+
+        when(replicaLagMonitor.isAvailable(SECOND_REPLICA)).thenReturn(false);
+
+        assertThat(routingDataSource.determineCurrentLookupKey())
+                .isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("A client's reads should stay on the primary right after its write")
+    public void determineCurrentLookupKey_ReadAfterWrite_ReturnPrimary() throws Exception {
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        List<Object> writeRequestKeys = new ArrayList<>();
+        readYourWritesFilter.doFilter(new MockHttpServletRequest(), writeResponse,
+                (request, response) -> {
+                    startTransaction(false);
+                    writeRequestKeys.add(routingDataSource.determineCurrentLookupKey());
+                    startTransaction(true);
+                    writeRequestKeys.add(routingDataSource.determineCurrentLookupKey());
+                });
+        Cookie cookie = writeResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        assertThat(writeRequestKeys).containsOnly(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.isHttpOnly()).isTrue();
+        assertThat(readKey(cookie)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(readKey()).isEqualTo(FIRST_REPLICA);
+    }
+
+    @Test
+    @DisplayName("Forged or expired write cookies should not pin reads to the primary")
+    public void determineCurrentLookupKey_ForgedOrExpiredCookie_ReturnReplica() throws Exception {
+        String expired = readYourWritesFilter.sign(System.currentTimeMillis() - 120_000);
+        String forged = System.currentTimeMillis() + expired.substring(expired.indexOf('.'));
+
+        assertThat(readKey(new Cookie(ReadYourWritesFilter.COOKIE_NAME, expired)))
+                .isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(readKey(new Cookie(ReadYourWritesFilter.COOKIE_NAME, forged)))
+                .isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(readKey(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "garbage")))
+                .isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    private Object readKey(Cookie... cookies) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (cookies.length > 0) {
+            request.setCookies(cookies);
+        }
+        List<Object> keys = new ArrayList<>();
+        readYourWritesFilter.doFilter(request, new MockHttpServletResponse(),
+                (filteredRequest, response) -> {
+                    startTransaction(true);
+                    keys.add(routingDataSource.determineCurrentLookupKey());
+                });
+        return keys.get(0);
+    }
+
+    private void startTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
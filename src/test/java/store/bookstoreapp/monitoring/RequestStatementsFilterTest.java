@@ -0,0 +1,54 @@
+package store.bookstoreapp.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+public class RequestStatementsFilterTest {
+    private static final String SQL = "SELECT * FROM books";
+    private static final String URI_PATTERN = "/api/books/{id}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestStatementsFilter requestStatementsFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestStatementsFilter = new RequestStatementsFilter(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("doFilter() should record the statements of a request under its uri pattern")
+    public void doFilter_TwoStatements_RecordTwo() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/1");
+
+        requestStatementsFilter.doFilter(request, new MockHttpServletResponse(),
+                (servletRequest, servletResponse) -> {
+                    requestStatementsFilter.inspect(SQL);
+                    requestStatementsFilter.inspect(SQL);
+                    servletRequest.setAttribute(
+                            HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, URI_PATTERN);
+                });
+
+        DistributionSummary summary = meterRegistry.get("http.server.requests.statements")
+                .tag("method", "GET")
+                .tag("uri", URI_PATTERN)
+                .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("inspect() should leave statements outside of a request untouched")
+    public void inspect_OutsideRequest_ReturnSql() {
+        assertThat(requestStatementsFilter.inspect(SQL)).isEqualTo(SQL);
+        assertThat(meterRegistry.find("http.server.requests.statements").summary()).isNull();
+    }
+}
@@ -3,14 +3,19 @@ package store.bookstoreapp.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
+import store.bookstoreapp.dto.version.VersionStamp;
 import store.bookstoreapp.model.Book;
+import store.bookstoreapp.repository.book.BookChange;
 import store.bookstoreapp.repository.book.BookRepository;
 
 @DataJpaTest
@@ -26,6 +31,8 @@ import store.bookstoreapp.repository.book.BookRepository;
 public class BookRepositoryTest {
     @Autowired
     private BookRepository bookRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @Test
     @DisplayName("Find book by id")
@@ -43,4 +50,47 @@ public class BookRepositoryTest {
 
         assertThat(bookById).isEqualTo(book);
     }
+
+    @Test
+    @Sql(
+            scripts = "classpath:database/books/add-search-books.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = "classpath:database/books/delete-search-books.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Category version stamp changes when a book leaves and another is updated")
+    public void findVersionStampByCategoryId_RemovedAndUpdatedBook_ChangeEtag() {
+        VersionStamp before = bookRepository.findVersionStampByCategoryId(1L);
+
+        jdbcTemplate.update("DELETE FROM books_categories WHERE book_id = 3 AND category_id = 1");
+        jdbcTemplate.update("UPDATE books SET version = version + 1, updated_at = ? WHERE id = 6",
+                LocalDateTime.now().plusSeconds(1));
+        VersionStamp after = bookRepository.findVersionStampByCategoryId(1L);
+
+        assertThat(after.getVersion()).isEqualTo(before.getVersion());
+        assertThat(after.getEtag()).isNotEqualTo(before.getEtag());
+    }
+
+    @Test
+    @Sql(
+            scripts = "classpath:database/books/add-search-books.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = "classpath:database/books/delete-search-books.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Changes after a position include deleted books in (updated_at, id) order")
+    public void findChangesAfter_SameUpdatedAt_ReturnNextPage() {
+        LocalDateTime updatedAt = LocalDateTime.now().plusDays(1).withNano(0);
+        jdbcTemplate.update("UPDATE books SET updated_at = ? WHERE id IN (5, 6, 7)", updatedAt);
+        jdbcTemplate.update("UPDATE books SET is_deleted = true WHERE id = 7");
+
+        List<BookChange> changes = bookRepository.findChangesAfter(updatedAt, 5L, 10);
+
+        assertThat(changes).extracting(BookChange::getId).containsExactly(6L, 7L);
+        assertThat(changes).extracting(BookChange::getUpdatedAt).containsOnly(updatedAt);
+    }
 }
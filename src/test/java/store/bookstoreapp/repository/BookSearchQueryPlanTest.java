@@ -0,0 +1,176 @@
+package store.bookstoreapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import store.bookstoreapp.repository.book.BookRepository;
+import store.bookstoreapp.repository.book.BookSpecificationBuilder;
+import store.bookstoreapp.repository.book.BookSpecificationProviderManager;
+import store.bookstoreapp.repository.book.specification.AuthorSpecificationProvider;
+import store.bookstoreapp.repository.book.specification.CategorySpecificationProvider;
+import store.bookstoreapp.repository.book.specification.IsbnSpecificationProvider;
+import store.bookstoreapp.repository.book.specification.PriceSpecificationProvider;
+import store.bookstoreapp.repository.book.specification.TitleSpecificationProvider;
+import store.bookstoreapp.search.BookSearchParameters;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "store.bookstoreapp.repository.BookSearchQueryPlanTest$RecordingInspector"
+})
+@Sql(
+        scripts = "classpath:database/books/add-search-books.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+)
+@Sql(
+        scripts = "classpath:database/books/delete-search-books.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class BookSearchQueryPlanTest {
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    private static final Set<String> FULL_SCANS = Set.of("ALL", "index");
+    private static final String PRIMARY_KEY = "PRIMARY";
+    private static final Set<String> TITLE_KEY = Set.of("idx_books_title_id");
+    private static final Set<String> AUTHOR_KEY = Set.of("idx_books_author_id");
+    private static final Set<String> ISBN_KEY = Set.of("isbn");
+    private static final Set<String> PRICE_KEY = Set.of("idx_books_price_id");
+    private static final Set<String> ID_KEY = Set.of(PRIMARY_KEY);
+    private static final Set<String> CATEGORY_KEYS = Set.of(
+            "idx_books_categories_category_id_book_id", "uk_books_categories_book_id_category_id");
+
+    private final BookSpecificationBuilder bookSpecificationBuilder = new BookSpecificationBuilder(
+            new BookSpecificationProviderManager(List.of(
+                    new AuthorSpecificationProvider(),
+                    new CategorySpecificationProvider(),
+                    new IsbnSpecificationProvider(),
+                    new PriceSpecificationProvider(),
+                    new TitleSpecificationProvider())));
+
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("Search by authors, titles and isbns should use an index")
+    public void search_TextFilters_UseIndex() {
+        assertUsesIndexes(parameters(null, new String[] {"Author 1", "Author 2"}, null),
+                AUTHOR_KEY);
+        assertUsesIndexes(parameters(new String[] {"Title 1", "Title 2"}, null, null), TITLE_KEY);
+        assertUsesIndexes(parameters(null, null, new String[] {"ISBN1", "ISBN2"}), ISBN_KEY);
+    }
+
+    @Test
+    @DisplayName("Search by price range should use an index")
+    public void search_PriceFilters_UseIndex() {
+        assertUsesIndexes(prices(BigDecimal.TEN, BigDecimal.valueOf(11)), PRICE_KEY);
+        assertUsesIndexes(prices(BigDecimal.valueOf(99), null), PRICE_KEY);
+        assertUsesIndexes(prices(null, BigDecimal.ONE), PRICE_KEY);
+    }
+
+    @Test
+    @DisplayName("Search by all of, any of and none of categories should use an index")
+    public void search_CategoryFilters_UseIndex() {
+        assertUsesIndexes(categories(new Long[] {1L, 2L}, null, null), ID_KEY, CATEGORY_KEYS);
+        assertUsesIndexes(categories(null, new Long[] {1L, 2L}, null), ID_KEY, CATEGORY_KEYS);
+        assertUsesIndexes(categories(null, null, new Long[] {3L}), ID_KEY, CATEGORY_KEYS);
+    }
+
+    @Test
+    @DisplayName("Search by all parameters should use an index")
+    public void search_AllFilters_UseIndex() {
+        assertUsesIndexes(new BookSearchParameters(
+                new String[] {"Title 1", "Title 2"},
+                new String[] {"Author 1", "Author 2"},
+                new String[] {"ISBN1", "ISBN2"},
+                new Long[] {1L},
+                new Long[] {2L, 3L},
+                new Long[] {3L},
+                BigDecimal.ONE,
+                BigDecimal.valueOf(50)),
+                Set.of("idx_books_title_id", "idx_books_author_id", "isbn",
+                        "idx_books_price_id"),
+                CATEGORY_KEYS);
+    }
+
+    @SafeVarargs
+    private void assertUsesIndexes(BookSearchParameters searchParameters,
+                                   Set<String>... expectedKeys) {
+        STATEMENTS.clear();
+        bookRepository.findAll(bookSpecificationBuilder.build(searchParameters),
+                PageRequest.of(0, 20, Sort.by("id")));
+        String sql = STATEMENTS.get(0).replace("?", "20");
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql);
+        Set<String> usedKeys = new HashSet<>();
+        for (Map<String, Object> step : plan) {
+            if (step.containsKey("key")) {
+                if (String.valueOf(step.get("table")).startsWith("<")) {
+                    continue;
+                }
+                assertThat(step.get("key")).as("%s\n%s", sql, plan).isNotNull();
+                List<String> keys = List.of(step.get("key").toString().split(","));
+                usedKeys.addAll(keys);
+                boolean idWalk = keys.equals(List.of(PRIMARY_KEY))
+                        && List.of(expectedKeys).contains(ID_KEY);
+                if (!idWalk) {
+                    assertThat(step.get("type")).as("%s\n%s", sql, plan).isNotIn(FULL_SCANS);
+                }
+            } else {
+                assertThat(step.values().iterator().next().toString())
+                        .as("%s\n%s", sql, plan).doesNotContain("tableScan");
+            }
+        }
+        if (plan.get(0).containsKey("key")) {
+            for (Set<String> expected : expectedKeys) {
+                assertThat(usedKeys).as("%s\n%s", sql, plan).containsAnyElementsOf(expected);
+            }
+        }
+    }
+
+    private BookSearchParameters parameters(String[] titles, String[] authors, String[] isbns) {
+        return new BookSearchParameters(titles, authors, isbns, null, null, null, null, null);
+    }
+
+    private BookSearchParameters prices(BigDecimal minPrice, BigDecimal maxPrice) {
+        return new BookSearchParameters(null, null, null, null, null, null, minPrice, maxPrice);
+    }
+
+    private BookSearchParameters categories(
+            Long[] categoryIds,
+            Long[] anyCategoryIds,
+            Long[] excludedCategoryIds
+    ) {
+        return new BookSearchParameters(null, null, null, categoryIds, anyCategoryIds,
+                excludedCategoryIds, null, null);
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package store.bookstoreapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
+import store.bookstoreapp.dto.category.CategoryDto;
+import store.bookstoreapp.model.Category;
+import store.bookstoreapp.repository.category.CategorySnapshot;
+
+public class CategorySnapshotTest {
+    private CategorySnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = CategorySnapshot.of(new CategorySnapshot.Stamp(3L, null), List.of(
+                createCategory(3L, "fantasy", null),
+                createCategory(1L, "Drama", "Plays"),
+                createCategory(2L, "comics", "Strips")
+        ), category -> new CategoryDto(
+                category.getId(), category.getName(), category.getDescription()));
+    }
+
+    private Category createCategory(Long id, String name, String description) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        category.setDescription(description);
+        category.setVersion(0L);
+        return category;
+    }
+
+    @Test
+    @DisplayName("page() should order categories by id when no sort is given")
+    public void page_Unsorted_ReturnCategoriesById() {
+        assertThat(ids(snapshot.page(Pageable.unpaged()))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("page() should sort names case-insensitively and page in memory")
+    public void page_SortedByName_ReturnRequestedPage() {
+        assertThat(ids(snapshot.page(PageRequest.of(0, 2, Sort.by("name")))))
+                .containsExactly(2L, 1L);
+        assertThat(ids(snapshot.page(PageRequest.of(1, 2, Sort.by("name")))))
+                .containsExactly(3L);
+        assertThat(snapshot.page(PageRequest.of(5, 2))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("page() should put null descriptions last in descending order")
+    public void page_SortedByDescriptionDesc_NullsLast() {
+        assertThat(ids(snapshot.page(PageRequest.of(0, 10,
+                Sort.by(Sort.Direction.DESC, "description"))))).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    @DisplayName("page() should reject unknown sort properties")
+    public void page_UnknownSortProperty_ThrowException() {
+        assertThrows(PropertyReferenceException.class,
+                () -> snapshot.page(PageRequest.of(0, 10, Sort.by("price"))));
+    }
+
+    @Test
+    @DisplayName("find() should return the category and its version stamp")
+    public void find_ExistingId_ReturnEntry() {
+        assertThat(snapshot.find(1L))
+                .hasValueSatisfying(entry -> {
+                    assertThat(entry.category().name()).isEqualTo("Drama");
+                    assertThat(entry.versionStamp().getEtag()).isEqualTo("0");
+                });
+        assertThat(snapshot.find(4L)).isEmpty();
+    }
+
+    private List<Long> ids(List<CategoryDto> categories) {
+        return categories.stream()
+                .map(CategoryDto::id)
+                .toList();
+    }
+}
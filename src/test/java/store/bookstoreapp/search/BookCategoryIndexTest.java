@@ -0,0 +1,84 @@
+package store.bookstoreapp.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BookCategoryIndexTest {
+    private static final Long FICTION = 1L;
+    private static final Long BESTSELLERS = 2L;
+    private static final Long KIDS = 3L;
+
+    private BookCategoryIndex bookCategoryIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookCategoryIndex = new BookCategoryIndex();
+        bookCategoryIndex.index(1L, List.of(FICTION, BESTSELLERS));
+        bookCategoryIndex.index(2L, List.of(FICTION, BESTSELLERS, KIDS));
+        bookCategoryIndex.index(3L, List.of(FICTION));
+        bookCategoryIndex.index(4L, List.of(BESTSELLERS));
+        bookCategoryIndex.index(5L, List.of());
+    }
+
+    @Test
+    @DisplayName("find() should intersect required categories and subtract excluded ones")
+    public void find_AllOfAndNoneOf_ReturnMatchingBooks() {
+        assertThat(bookCategoryIndex.find(Set.of(FICTION, BESTSELLERS), Set.of(), Set.of(KIDS)))
+                .containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("find() should unite the books of any-of categories in id order")
+    public void find_AnyOf_ReturnUnion() {
+        assertThat(bookCategoryIndex.find(Set.of(), Set.of(KIDS, BESTSELLERS), Set.of()))
+                .containsExactly(1L, 2L, 4L);
+        assertThat(bookCategoryIndex.find(Set.of(FICTION), Set.of(KIDS, 99L), Set.of()))
+                .containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("find() with only excluded categories should search all books")
+    public void find_OnlyNoneOf_ReturnOtherBooks() {
+        assertThat(bookCategoryIndex.find(Set.of(), Set.of(), Set.of(FICTION)))
+                .containsExactly(4L, 5L);
+    }
+
+    @Test
+    @DisplayName("find() should return nothing for an unknown required category")
+    public void find_UnknownCategory_ReturnEmpty() {
+        assertThat(bookCategoryIndex.find(Set.of(FICTION, 99L), Set.of(), Set.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("index() and remove() should keep the category postings current")
+    public void index_UpdatedAndRemovedBooks_UpdatePostings() {
+        bookCategoryIndex.index(3L, List.of(KIDS));
+        bookCategoryIndex.remove(1L);
+
+        assertThat(bookCategoryIndex.find(Set.of(FICTION), Set.of(), Set.of()))
+                .containsExactly(2L);
+        assertThat(bookCategoryIndex.find(Set.of(KIDS), Set.of(), Set.of()))
+                .containsExactly(2L, 3L);
+        assertThat(bookCategoryIndex.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("removeCategory() should drop the category from its books")
+    public void removeCategory_DeletedCategory_DropFromBooks() {
+        bookCategoryIndex.removeCategory(BESTSELLERS);
+
+        assertThat(bookCategoryIndex.find(Set.of(BESTSELLERS), Set.of(), Set.of())).isEmpty();
+        assertThat(bookCategoryIndex.find(Set.of(), Set.of(), Set.of(KIDS)))
+                .containsExactly(1L, 3L, 4L, 5L);
+
+        bookCategoryIndex.remove(2L);
+
+        assertThat(bookCategoryIndex.find(Set.of(FICTION), Set.of(), Set.of()))
+                .containsExactly(1L, 3L);
+    }
+}
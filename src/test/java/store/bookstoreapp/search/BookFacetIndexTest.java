@@ -0,0 +1,180 @@
+package store.bookstoreapp.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import store.bookstoreapp.dto.book.AuthorFacetDto;
+import store.bookstoreapp.dto.book.BookFacetsDto;
+import store.bookstoreapp.dto.book.CategoryFacetDto;
+import store.bookstoreapp.dto.book.PriceFacetDto;
+import store.bookstoreapp.model.Book;
+
+public class BookFacetIndexTest {
+    private static final Long FICTION = 1L;
+    private static final Long BESTSELLERS = 2L;
+    private static final Long KIDS = 3L;
+    private static final Map<Long, String> CATEGORY_NAMES =
+            Map.of(FICTION, "Fiction", BESTSELLERS, "Bestsellers", KIDS, "Kids");
+
+    private BookFacetIndex bookFacetIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookFacetIndex = new BookFacetIndex(
+                new BigDecimal[] {BigDecimal.valueOf(20), BigDecimal.TEN}, 2);
+        bookFacetIndex.index(book(1L, "Dune", "Frank Herbert", "9.99"),
+                List.of(FICTION, BESTSELLERS));
+        bookFacetIndex.index(book(2L, "Children of Dune", "Frank Herbert", "15.00"),
+                List.of(FICTION));
+        bookFacetIndex.index(book(3L, "Matilda", "Roald Dahl", "10.00"),
+                List.of(FICTION, BESTSELLERS, KIDS));
+        bookFacetIndex.index(book(4L, "Clean Code", "Robert Martin", "45.50"),
+                List.of(BESTSELLERS));
+    }
+
+    @Test
+    @DisplayName("facets() without filters should count the whole catalog")
+    public void facets_NoFilters_CountAllBooks() {
+        BookFacetsDto facets = bookFacetIndex.facets(parameters(null, null, null, null),
+                CATEGORY_NAMES::get);
+
+        assertThat(facets.total()).isEqualTo(4);
+        assertThat(facets.categories()).containsExactly(
+                new CategoryFacetDto(FICTION, "Fiction", 3),
+                new CategoryFacetDto(BESTSELLERS, "Bestsellers", 3),
+                new CategoryFacetDto(KIDS, "Kids", 1));
+        assertThat(facets.authors()).containsExactly(
+                new AuthorFacetDto("Frank Herbert", 2),
+                new AuthorFacetDto("Roald Dahl", 1));
+        assertThat(facets.prices()).containsExactly(
+                new PriceFacetDto(null, BigDecimal.TEN, 1),
+                new PriceFacetDto(BigDecimal.TEN, BigDecimal.valueOf(20), 2),
+                new PriceFacetDto(BigDecimal.valueOf(20), null, 1));
+    }
+
+    @Test
+    @DisplayName("facets() should count only books matching text and category filters")
+    public void facets_WithFilters_CountMatchingBooks() {
+        BookFacetsDto facets = bookFacetIndex.facets(new BookSearchParameters(
+                null, new String[] {"frank herbert", "Roald Dahl"}, null,
+                new Long[] {FICTION}, null, new Long[] {KIDS}, null, null), CATEGORY_NAMES::get);
+
+        assertThat(facets.total()).isEqualTo(2);
+        assertThat(facets.categories()).containsExactly(
+                new CategoryFacetDto(FICTION, "Fiction", 2),
+                new CategoryFacetDto(BESTSELLERS, "Bestsellers", 1));
+        assertThat(facets.authors()).containsExactly(new AuthorFacetDto("Frank Herbert", 2));
+    }
+
+    @Test
+    @DisplayName("facets() should match any-of categories, titles and isbns")
+    public void facets_AnyOfTitlesAndIsbns_CountMatchingBooks() {
+        assertThat(bookFacetIndex.facets(parameters(null, null, new Long[] {KIDS, 99L}, null),
+                CATEGORY_NAMES::get).total()).isEqualTo(1);
+        assertThat(bookFacetIndex.facets(parameters(new String[] {"dune", "Matilda"}, null,
+                null, null), CATEGORY_NAMES::get).total()).isEqualTo(2);
+        assertThat(bookFacetIndex.facets(new BookSearchParameters(null, null,
+                new String[] {"ISBN-2", "ISBN-4"}, null, null, null, null, null),
+                CATEGORY_NAMES::get).total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("facets() should count only books in the inclusive price range")
+    public void facets_PriceRange_CountMatchingBooks() {
+        BookFacetsDto facets = bookFacetIndex.facets(new BookSearchParameters(null, null, null,
+                new Long[] {FICTION}, null, null, new BigDecimal("9.995"), BigDecimal.valueOf(15)),
+                CATEGORY_NAMES::get);
+
+        assertThat(facets.total()).isEqualTo(2);
+        assertThat(facets.prices()).extracting(PriceFacetDto::count).containsExactly(0L, 2L, 0L);
+        assertThat(bookFacetIndex.facets(new BookSearchParameters(null, null, null, null, null,
+                null, null, BigDecimal.TEN), CATEGORY_NAMES::get).total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("facets() should return no matches for an unknown required category")
+    public void facets_UnknownCategory_ReturnEmpty() {
+        BookFacetsDto facets = bookFacetIndex.facets(
+                parameters(null, new Long[] {FICTION, 99L}, null, null), CATEGORY_NAMES::get);
+
+        assertThat(facets.total()).isZero();
+        assertThat(facets.categories()).isEmpty();
+        assertThat(facets.authors()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("index(), remove() and removeCategory() should keep the columns current")
+    public void index_UpdatedAndRemovedBooks_UpdateCounts() {
+        bookFacetIndex.index(book(4L, "Clean Code", "Robert C. Martin", "5.00"), List.of(KIDS));
+        bookFacetIndex.remove(1L);
+        bookFacetIndex.removeCategory(BESTSELLERS);
+
+        BookFacetsDto facets = bookFacetIndex.facets(parameters(null, null, null, null),
+                CATEGORY_NAMES::get);
+
+        assertThat(bookFacetIndex.size()).isEqualTo(3);
+        assertThat(facets.total()).isEqualTo(3);
+        assertThat(facets.categories()).containsExactly(
+                new CategoryFacetDto(FICTION, "Fiction", 2),
+                new CategoryFacetDto(KIDS, "Kids", 2));
+        assertThat(facets.prices()).extracting(PriceFacetDto::count).containsExactly(1L, 2L, 0L);
+        assertThat(bookFacetIndex.facets(parameters(null, null, null, new Long[] {KIDS}),
+                CATEGORY_NAMES::get).authors())
+                .containsExactly(new AuthorFacetDto("Frank Herbert", 1));
+    }
+
+    @Test
+    @DisplayName("facets() should match titles and authors ignoring case, accents and padding")
+    public void facets_AccentsAndTrailingSpaces_MatchFoldedValues() {
+        bookFacetIndex.index(book(5L, "Cien años", "Gabriel García Márquez",
+                "12.00"), List.of(FICTION));
+
+        BookFacetsDto facets = bookFacetIndex.facets(new BookSearchParameters(
+                new String[] {"CIEN ANOS  "}, new String[] {"gabriel garcia marquez"}, null,
+                null, null, null, null, null), CATEGORY_NAMES::get);
+
+        assertThat(facets.total()).isEqualTo(1);
+        assertThat(facets.authors()).containsExactly(
+                new AuthorFacetDto("Gabriel García Márquez", 1));
+        assertThat(bookFacetIndex.facets(parameters(new String[] {"Cien anos y"}, null, null,
+                null), CATEGORY_NAMES::get).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("index() and remove() should drop authors no book refers to")
+    public void index_RenamedAndRemovedAuthors_DropUnusedAuthors() {
+        bookFacetIndex.index(book(4L, "Clean Code", "Robert C. Martin", "45.50"),
+                List.of(BESTSELLERS));
+        bookFacetIndex.remove(3L);
+
+        assertThat(bookFacetIndex.authorCount()).isEqualTo(2);
+        assertThat(bookFacetIndex.facets(new BookSearchParameters(null,
+                new String[] {"Robert Martin", "Roald Dahl"}, null, null, null, null, null, null),
+                CATEGORY_NAMES::get).total()).isZero();
+    }
+
+    private BookSearchParameters parameters(
+            String[] titles,
+            Long[] categoryIds,
+            Long[] anyCategoryIds,
+            Long[] excludedCategoryIds
+    ) {
+        return new BookSearchParameters(titles, null, null, categoryIds, anyCategoryIds,
+                excludedCategoryIds, null, null);
+    }
+
+    private Book book(Long id, String title, String author, String price) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setIsbn("isbn-" + id);
+        book.setPrice(new BigDecimal(price));
+        return book;
+    }
+}
@@ -0,0 +1,180 @@
+package store.bookstoreapp.search;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import store.bookstoreapp.model.Book;
+import store.bookstoreapp.repository.book.BookCategoryId;
+import store.bookstoreapp.repository.book.BookChange;
+import store.bookstoreapp.repository.book.BookRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class BookIndexRefresherTest {
+    private static final LocalDateTime LOADED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private BookIndexLoader categoryLoader;
+    @Mock
+    private BookIndexLoader textLoader;
+    @Mock
+    private BookTextIndex bookTextIndex;
+    @Mock
+    private BookCategoryIndex bookCategoryIndex;
+    @Mock
+    private BookFacetIndex bookFacetIndex;
+
+    private BookIndexRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        refresher = new BookIndexRefresher(bookRepository, List.of(categoryLoader, textLoader),
+                bookTextIndex, bookCategoryIndex, bookFacetIndex,
+                Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        refresher.destroy();
+    }
+
+    @Test
+    @DisplayName("start() should load every index before the application takes traffic")
+    public void start_ApplicationReady_LoadAllIndexes() {
+        when(bookRepository.findMaxUpdatedAt()).thenReturn(LOADED_AT);
+
+        refresher.start();
+
+        verify(categoryLoader).load();
+        verify(textLoader).load();
+    }
+
+    @Test
+    @DisplayName("check() should index only the books another node changed")
+    public void check_RemoteChanges_IndexChangedBooks() {
+        when(bookRepository.findMaxUpdatedAt()).thenReturn(LOADED_AT);
+        refresher.load();
+        Book book = book(1L, 2L, LOADED_AT.plusSeconds(1));
+        when(bookRepository.findChangesAfter(LOADED_AT.minusMinutes(1), 0L, 1000))
+                .thenReturn(List.of(change(book), change(2L, 3L, LOADED_AT.plusSeconds(2))));
+        when(bookRepository.findCategoryIdsByBookIds(List.of(1L, 2L)))
+                .thenReturn(List.of(bookCategory(1L, 5L)));
+        when(bookRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(book));
+
+        refresher.check();
+
+        verify(bookTextIndex).index(book);
+        verify(bookCategoryIndex).index(1L, Set.of(5L));
+        verify(bookFacetIndex).index(book, Set.of(5L));
+        verify(bookTextIndex).remove(2L);
+        verify(bookCategoryIndex).remove(2L);
+        verify(bookFacetIndex).remove(2L);
+        verify(categoryLoader).load();
+    }
+
+    @Test
+    @DisplayName("check() should skip the books this node has already indexed")
+    public void check_LocalChanges_SkipIndexedBooks() {
+        when(bookRepository.findMaxUpdatedAt()).thenReturn(LOADED_AT);
+        refresher.load();
+        Book book = book(1L, 2L, LOADED_AT.plusSeconds(1));
+        refresher.index(book, Set.of(5L));
+        when(bookRepository.findChangesAfter(LOADED_AT.minusMinutes(1), 0L, 1000))
+                .thenReturn(List.of(change(book)));
+
+        refresher.check();
+
+        verify(bookTextIndex).index(book);
+        verify(bookRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("check() should move the watermark past the applied changes")
+    public void check_AppliedChanges_ReadFromNewWatermark() {
+        when(bookRepository.findMaxUpdatedAt()).thenReturn(LOADED_AT);
+        refresher.load();
+        LocalDateTime changedAt = LOADED_AT.plusMinutes(5);
+        when(bookRepository.findChangesAfter(LOADED_AT.minusMinutes(1), 0L, 1000))
+                .thenReturn(List.of(change(1L, 2L, changedAt)));
+        when(bookRepository.findChangesAfter(changedAt.minusMinutes(1), 0L, 1000))
+                .thenReturn(List.of());
+
+        refresher.check();
+        refresher.check();
+
+        verify(bookRepository).findChangesAfter(changedAt.minusMinutes(1), 0L, 1000);
+    }
+
+    @Test
+    @DisplayName("check() should keep serving the loaded indexes when the check fails")
+    public void check_RepositoryFails_KeepIndexes() {
+        when(bookRepository.findChangesAfter(any(), anyLong(), anyInt()))
+                .thenThrow(new IllegalStateException("down"));
+
+        refresher.check();
+
+        verify(categoryLoader, never()).load();
+        verify(bookTextIndex, never()).index(any());
+    }
+
+    private static Book book(Long id, Long version, LocalDateTime updatedAt) {
+        Book book = new Book();
+        book.setId(id);
+        book.setVersion(version);
+        book.setUpdatedAt(updatedAt);
+        return book;
+    }
+
+    private static BookChange change(Book book) {
+        return change(book.getId(), book.getVersion(), book.getUpdatedAt());
+    }
+
+    private static BookChange change(Long id, Long version, LocalDateTime updatedAt) {
+        return new BookChange() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+
+    private static BookCategoryId bookCategory(Long bookId, Long categoryId) {
+        return new BookCategoryId() {
+            @Override
+            public Long getBookId() {
+                return bookId;
+            }
+
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+        };
+    }
+}
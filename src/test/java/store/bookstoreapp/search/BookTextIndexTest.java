@@ -0,0 +1,82 @@
+package store.bookstoreapp.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import store.bookstoreapp.model.Book;
+
+public class BookTextIndexTest {
+    private BookTextIndex bookTextIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookTextIndex = new BookTextIndex();
+        bookTextIndex.index(createBook(1L, "Harry Potter and the Philosopher's Stone",
+                "J. K. Rowling", "A boy wizard goes to school"));
+        bookTextIndex.index(createBook(2L, "The Hobbit",
+                "J. R. R. Tolkien", "Bilbo meets Harry the potter"));
+        bookTextIndex.index(createBook(3L, "Clean Code",
+                "Robert Martin", null));
+    }
+
+    private Book createBook(Long id, String title, String author, String description) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setDescription(description);
+        return book;
+    }
+
+    @Test
+    @DisplayName("search() should rank title matches above description matches")
+    public void search_WordsInTitleAndDescription_RankTitleFirst() {
+        assertThat(bookTextIndex.search("harry potter")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("search() should match the beginning of words")
+    public void search_PartialWords_MatchPrefixes() {
+        assertThat(bookTextIndex.search("Rowl")).containsExactly(1L);
+        assertThat(bookTextIndex.search("cle co")).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("search() should require every word of the query to match")
+    public void search_UnmatchedWord_ReturnEmptyList() {
+        assertThat(bookTextIndex.search("harry code")).isEmpty();
+        assertThat(bookTextIndex.search("  ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("index() should replace the words of an updated book")
+    public void index_UpdatedBook_ReplaceWords() {
+        bookTextIndex.index(createBook(3L, "Refactoring", "Martin Fowler", null));
+
+        assertThat(bookTextIndex.search("clean")).isEmpty();
+        assertThat(bookTextIndex.search("refactoring")).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("remove() should drop a deleted book from the results")
+    public void remove_DeletedBook_NotFound() {
+        bookTextIndex.remove(1L);
+
+        assertThat(bookTextIndex.search("harry")).containsExactly(2L);
+        assertThat(bookTextIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("load() should replace the whole index with a freshly built one")
+    public void load_RebuiltIndex_ReplaceBooks() {
+        BookTextIndex loaded = new BookTextIndex();
+        loaded.index(createBook(4L, "Harry and the Code", "Unknown", null));
+
+        bookTextIndex.load(loaded);
+
+        assertThat(bookTextIndex.search("harry")).containsExactly(4L);
+        assertThat(bookTextIndex.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,148 @@
+package store.bookstoreapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import store.bookstoreapp.model.Role;
+import store.bookstoreapp.model.User;
+import store.bookstoreapp.security.JwtAuthenticationFilter.AuthenticationMode;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthenticationFilterTest {
+    private static final String SECRET = "p1tbookstoreappsomerandomsymholstokey1231488p1t";
+    private static final long EXPIRATION = 100000L;
+    private static final Long VALID_ID = 1L;
+    private static final String VALID_EMAIL = "user@example.com";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private User validUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, EXPIRATION);
+        filter = new JwtAuthenticationFilter(userDetailsService,
+                new UserDetailsCache(100, Duration.ofMinutes(1)), jwtUtil);
+        validUser = createValidUser();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private User createValidUser() {
+        Role role = new Role();
+        role.setName(Role.RoleName.ROLE_USER);
+        User user = new User();
+        user.setId(VALID_ID);
+        user.setEmail(VALID_EMAIL);
+        user.setRoles(Set.of(role));
+        return user;
+    }
+
+    @Test
+    @DisplayName("LOOKUP mode should load the user from the database on every request")
+    public void doFilter_LookupMode_LoadUserEveryRequest() throws Exception {
+        ReflectionTestUtils.setField(filter, "authenticationMode", AuthenticationMode.LOOKUP);
+        when(userDetailsService.loadUserByUsername(VALID_EMAIL)).thenReturn(validUser);
+        String token = jwtUtil.generateToken(validUser);
+
+        filter(token);
+        Authentication authentication = filter(token);
+
+        assertThat(authentication.getPrincipal()).isSameAs(validUser);
+        verify(userDetailsService, times(2)).loadUserByUsername(VALID_EMAIL);
+    }
+
+    @Test
+    @DisplayName("CACHE mode should load the user once and reuse it for later requests")
+    public void doFilter_CacheMode_LoadUserOnce() throws Exception {
+        ReflectionTestUtils.setField(filter, "authenticationMode", AuthenticationMode.CACHE);
+        when(userDetailsService.loadUserByUsername(VALID_EMAIL)).thenReturn(validUser);
+        String token = jwtUtil.generateToken(validUser);
+
+        filter(token);
+        Authentication authentication = filter(token);
+
+        assertThat(authentication.getPrincipal()).isSameAs(validUser);
+        verify(userDetailsService, times(1)).loadUserByUsername(VALID_EMAIL);
+    }
+
+    @Test
+    @DisplayName("CLAIMS mode should build the user from the token without a lookup")
+    public void doFilter_ClaimsMode_AuthenticateFromClaims() throws Exception {
+        ReflectionTestUtils.setField(filter, "authenticationMode", AuthenticationMode.CLAIMS);
+
+        Authentication authentication = filter(jwtUtil.generateToken(validUser));
+
+        assertThat(((User) authentication.getPrincipal()).getId()).isEqualTo(VALID_ID);
+        assertThat(authentication.getName()).isEqualTo(VALID_EMAIL);
+        assertThat(authentication.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+        verify(userDetailsService, never()).loadUserByUsername(VALID_EMAIL);
+    }
+
+    @Test
+    @DisplayName("CLAIMS mode should fall back to a lookup when the token has no user id claim")
+    public void doFilter_ClaimsModeWithoutUserId_LoadUser() throws Exception {
+        ReflectionTestUtils.setField(filter, "authenticationMode", AuthenticationMode.CLAIMS);
+        when(userDetailsService.loadUserByUsername(VALID_EMAIL)).thenReturn(validUser);
+        String token = jwtUtil.generateToken(createUserWithoutId());
+
+        Authentication authentication = filter(token);
+
+        assertThat(authentication.getPrincipal()).isSameAs(validUser);
+        verify(userDetailsService).loadUserByUsername(VALID_EMAIL);
+    }
+
+    @Test
+    @DisplayName("doFilter() should leave the request anonymous without a bearer token")
+    public void doFilter_NoToken_NotAuthenticated() throws Exception {
+        assertThat(filter(null)).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(VALID_EMAIL);
+    }
+
+    private User createUserWithoutId() {
+        User user = new User();
+        user.setEmail(VALID_EMAIL);
+        user.setRoles(Set.of());
+        return user;
+    }
+
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        MockFilterChain filterChain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        assertThat(filterChain.getRequest()).isSameAs(request);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
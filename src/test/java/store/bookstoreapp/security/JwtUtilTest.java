@@ -0,0 +1,104 @@
+package store.bookstoreapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import store.bookstoreapp.model.Role;
+import store.bookstoreapp.model.User;
+
+public class JwtUtilTest {
+    private static final String SECRET = "p1tbookstoreappsomerandomsymholstokey1231488p1t";
+    private static final long EXPIRATION = 100000L;
+    private static final Long VALID_ID = 1L;
+    private static final String VALID_EMAIL = "user@example.com";
+
+    private JwtUtil jwtUtil;
+    private User validUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, EXPIRATION);
+        validUser = createValidUser();
+    }
+
+    private User createValidUser() {
+        Role role = new Role();
+        role.setName(Role.RoleName.ROLE_ADMIN);
+        User user = new User();
+        user.setId(VALID_ID);
+        user.setEmail(VALID_EMAIL);
+        user.setRoles(Set.of(role));
+        return user;
+    }
+
+    @Test
+    @DisplayName("parseToken() should return claims of a valid token")
+    public void parseToken_ValidToken_ReturnClaims() {
+        Claims claims = jwtUtil.parseToken(jwtUtil.generateToken(validUser));
+
+        assertThat(claims.getSubject()).isEqualTo(VALID_EMAIL);
+    }
+
+    @Test
+    @DisplayName("parseToken() should throw JwtException for a tampered token")
+    public void parseToken_TamperedToken_ThrowException() {
+        String token = jwtUtil.generateToken(validUser);
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(token + "x"));
+    }
+
+    @Test
+    @DisplayName("parseToken() should throw JwtException for an expired token")
+    public void parseToken_ExpiredToken_ThrowException() {
+        String token = new JwtUtil(SECRET, -1000L).generateToken(validUser);
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(token));
+    }
+
+    @Test
+    @DisplayName("getUser() should rebuild the user id and roles from claims")
+    public void getUser_ValidClaims_ReturnUser() {
+        Claims claims = jwtUtil.parseToken(jwtUtil.generateToken(validUser));
+
+        Optional<User> user = jwtUtil.getUser(claims);
+
+        assertThat(user).isPresent();
+        assertThat(user.get().getId()).isEqualTo(VALID_ID);
+        assertThat(user.get().getUsername()).isEqualTo(VALID_EMAIL);
+        assertThat(user.get().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("getUser() should return empty when the id or roles claims are missing")
+    public void getUser_MissingClaims_ReturnEmpty() {
+        Claims withoutRoles = Jwts.claims().setSubject(VALID_EMAIL);
+        withoutRoles.put("uid", VALID_ID);
+        Claims withoutId = Jwts.claims().setSubject(VALID_EMAIL);
+        withoutId.put("roles", List.of("ROLE_ADMIN"));
+
+        assertThat(jwtUtil.getUser(withoutRoles)).isEmpty();
+        assertThat(jwtUtil.getUser(withoutId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("getUser() should return empty when a role claim is unknown")
+    public void getUser_UnknownRole_ReturnEmpty() {
+        Claims claims = Jwts.claims().setSubject(VALID_EMAIL);
+        claims.put("uid", VALID_ID);
+        claims.put("roles", List.of("ROLE_ADMIN", "ROLE_SUPERUSER"));
+
+        assertThat(jwtUtil.getUser(claims)).isEmpty();
+    }
+}
@@ -0,0 +1,89 @@
+package store.bookstoreapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import store.bookstoreapp.exception.LoginUnavailableException;
+
+public class LoginExecutorTest {
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(2);
+
+    private MeterRegistry meterRegistry;
+    private LoginExecutor loginExecutor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginExecutor = new LoginExecutor(1, 1, RETRY_AFTER, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("call() should return the result of the task")
+    public void call_ValidTask_ReturnResult() {
+        assertThat(loginExecutor.call(() -> "token")).isEqualTo("token");
+    }
+
+    @Test
+    @DisplayName("call() should rethrow the runtime exception of the task")
+    public void call_FailingTask_RethrowException() {
+        assertThrows(BadCredentialsException.class, () -> loginExecutor.call(() -> {
+            throw new BadCredentialsException("Bad credentials");
+        }));
+    }
+
+    @Test
+    @DisplayName("call() should reject fast once the worker and the queue are busy")
+    public void call_SaturatedExecutor_ThrowLoginUnavailableException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(
+                () -> loginExecutor.call(() -> {
+                    started.countDown();
+                    return await(release);
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        final CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(
+                () -> loginExecutor.call(() -> true));
+        while (queuedTasks() < 1) {
+            Thread.sleep(10);
+        }
+
+        LoginUnavailableException exception = assertThrows(LoginUnavailableException.class,
+                () -> loginExecutor.call(() -> true));
+
+        assertThat(exception.getRetryAfter()).isEqualTo(RETRY_AFTER);
+        assertThat(meterRegistry.get("security.login.rejected").counter().count()).isEqualTo(1);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private double queuedTasks() {
+        return meterRegistry.get("executor.queued").tag("name", "login").gauge().value();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package store.bookstoreapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class TimedBCryptPasswordEncoderTest {
+    private static final int STRENGTH = 5;
+    private static final String PASSWORD = "Password1";
+
+    private MeterRegistry meterRegistry;
+    private TimedBCryptPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new TimedBCryptPasswordEncoder(STRENGTH, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("upgradeEncoding() should be false for a hash with the configured strength")
+    public void upgradeEncoding_SameStrength_ReturnFalse() {
+        assertThat(passwordEncoder.upgradeEncoding(passwordEncoder.encode(PASSWORD))).isFalse();
+    }
+
+    @Test
+    @DisplayName("upgradeEncoding() should be true for weaker and stronger hashes")
+    public void upgradeEncoding_OtherStrength_ReturnTrue() {
+        String weaker = new BCryptPasswordEncoder(STRENGTH - 1).encode(PASSWORD);
+        String stronger = new BCryptPasswordEncoder(STRENGTH + 1).encode(PASSWORD);
+
+        assertThat(passwordEncoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(stronger)).isTrue();
+        assertThat(passwordEncoder.matches(PASSWORD, stronger)).isTrue();
+    }
+
+    @Test
+    @DisplayName("upgradeEncoding() should be false for a value that isn't a BCrypt hash")
+    public void upgradeEncoding_NotBcrypt_ReturnFalse() {
+        assertThat(passwordEncoder.upgradeEncoding(PASSWORD)).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("encode() and matches() should record the hash latency")
+    public void matches_EncodedPassword_RecordTimers() {
+        passwordEncoder.matches(PASSWORD, passwordEncoder.encode(PASSWORD));
+
+        assertThat(meterRegistry.get("security.password.hash").tag("operation", "encode")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.password.hash").tag("operation", "matches")
+                .timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,113 @@
+package store.bookstoreapp.security;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import store.bookstoreapp.model.Book;
+import store.bookstoreapp.model.User;
+
+@ExtendWith(MockitoExtension.class)
+public class UserDetailsCacheEvictionListenerTest {
+    private static final String VALID_EMAIL = "user@example.com";
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    private UserDetailsCacheEvictionListener listener;
+    private User validUser;
+
+    @BeforeEach
+    void setUp() {
+        listener = new UserDetailsCacheEvictionListener(entityManagerFactory, userDetailsCache);
+        validUser = new User();
+        validUser.setEmail(VALID_EMAIL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("onPostUpdate() should evict the user right away outside a transaction")
+    public void onPostUpdate_NoTransaction_EvictUser() {
+        PostUpdateEvent event = mock(PostUpdateEvent.class);
+        when(event.getEntity()).thenReturn(validUser);
+
+        listener.onPostUpdate(event);
+
+        verify(userDetailsCache).evict(VALID_EMAIL);
+    }
+
+    @Test
+    @DisplayName("onPostDelete() should evict the user only after the transaction commits")
+    public void onPostDelete_InTransaction_EvictUserAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        PostDeleteEvent event = mock(PostDeleteEvent.class);
+        when(event.getEntity()).thenReturn(validUser);
+
+        listener.onPostDelete(event);
+
+        verify(userDetailsCache, never()).evict(VALID_EMAIL);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        verify(userDetailsCache).evict(VALID_EMAIL);
+    }
+
+    @Test
+    @DisplayName("onPostUpdateCollection() should keep the user when the transaction rolls back")
+    public void onPostUpdateCollection_RolledBack_KeepUser() {
+        TransactionSynchronizationManager.initSynchronization();
+        PostCollectionUpdateEvent event = mock(PostCollectionUpdateEvent.class);
+        when(event.getAffectedOwnerOrNull()).thenReturn(validUser);
+
+        listener.onPostUpdateCollection(event);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(userDetailsCache, never()).evict(VALID_EMAIL);
+    }
+
+    @Test
+    @DisplayName("onPostRecreateCollection() should evict the owner of a replaced role set")
+    public void onPostRecreateCollection_UserRoles_EvictUser() {
+        PostCollectionRecreateEvent event = mock(PostCollectionRecreateEvent.class);
+        when(event.getAffectedOwnerOrNull()).thenReturn(validUser);
+
+        listener.onPostRecreateCollection(event);
+
+        verify(userDetailsCache).evict(VALID_EMAIL);
+    }
+
+    @Test
+    @DisplayName("onPostUpdate() should ignore entities other than users")
+    public void onPostUpdate_OtherEntity_Ignore() {
+        PostUpdateEvent event = mock(PostUpdateEvent.class);
+        when(event.getEntity()).thenReturn(new Book());
+
+        listener.onPostUpdate(event);
+
+        verifyNoInteractions(userDetailsCache);
+    }
+}
@@ -0,0 +1,161 @@
+package store.bookstoreapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import store.bookstoreapp.config.CacheConfig;
+import store.bookstoreapp.dto.book.BookDto;
+import store.bookstoreapp.dto.book.CreateBookRequestDto;
+import store.bookstoreapp.mapper.BookMapper;
+import store.bookstoreapp.model.Book;
+import store.bookstoreapp.repository.book.BookRepository;
+import store.bookstoreapp.repository.book.BookSpecificationBuilder;
+import store.bookstoreapp.repository.category.CategorySnapshotHolder;
+import store.bookstoreapp.search.BookCategoryIndex;
+import store.bookstoreapp.search.BookFacetIndex;
+import store.bookstoreapp.search.BookIndexRefresher;
+import store.bookstoreapp.search.BookTextIndex;
+import store.bookstoreapp.service.impl.BookServiceImpl;
+
+@SpringJUnitConfig(BookServiceCacheTest.Config.class)
+public class BookServiceCacheTest {
+    private static final Long VALID_ID = 1L;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private BookRepository bookRepository;
+
+    @MockBean
+    private BookMapper bookMapper;
+
+    @MockBean
+    private BookSpecificationBuilder bookSpecificationBuilder;
+
+    @MockBean
+    private BookTextIndex bookTextIndex;
+
+    @MockBean
+    private BookCategoryIndex bookCategoryIndex;
+
+    @MockBean
+    private BookFacetIndex bookFacetIndex;
+
+    @MockBean
+    private BookIndexRefresher bookIndexRefresher;
+
+    @MockBean
+    private CategorySnapshotHolder categorySnapshotHolder;
+
+    private Book validBook;
+    private BookDto validBookDto;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.BOOKS_CACHE).clear();
+        validBook = new Book();
+        validBook.setId(VALID_ID);
+        validBookDto = new BookDto();
+        validBookDto.setId(VALID_ID);
+        validBookDto.setTitle("Valid Title");
+        when(bookRepository.findBookById(VALID_ID)).thenReturn(Optional.of(validBook));
+        when(bookMapper.toDto(validBook)).thenReturn(validBookDto);
+    }
+
+    @Test
+    @DisplayName("findBookById() should hit the repository once for repeated reads")
+    public void findBookById_RepeatedReads_LoadOnce() {
+        BookDto first = bookService.findBookById(VALID_ID);
+        BookDto second = bookService.findBookById(VALID_ID);
+
+        assertThat(second).isEqualTo(first);
+        verify(bookRepository, times(1)).findBookById(VALID_ID);
+        verify(bookMapper, times(1)).toDto(validBook);
+    }
+
+    @Test
+    @DisplayName("findBookById() should serve the version stamp from the cached book")
+    public void findBookById_CachedBook_ServeVersionStamp() {
+        validBookDto.setVersion(3L);
+        validBookDto.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        bookService.findBookById(VALID_ID);
+
+        BookDto actual = bookService.findBookById(VALID_ID);
+
+        assertThat(actual.getEtag()).isEqualTo("3-1704067200000000");
+        assertThat(actual.getLastModified()).isPositive();
+        verify(bookRepository, times(1)).findBookById(VALID_ID);
+    }
+
+    @Test
+    @DisplayName("deleteById() should evict the cached book")
+    public void deleteById_CachedBook_Evict() {
+        bookService.findBookById(VALID_ID);
+
+        bookService.deleteById(VALID_ID);
+        bookService.findBookById(VALID_ID);
+
+        verify(bookRepository, times(2)).findBookById(VALID_ID);
+    }
+
+    @Test
+    @DisplayName("updateBook() should replace the cached book with the updated one")
+    public void updateBook_CachedBook_ReplaceEntry() {
+        bookService.findBookById(VALID_ID);
+        BookDto updatedBookDto = new BookDto();
+        updatedBookDto.setId(VALID_ID);
+        updatedBookDto.setTitle("Updated Title");
+        when(bookRepository.save(validBook)).thenReturn(validBook);
+        when(bookMapper.toDto(validBook)).thenReturn(updatedBookDto);
+
+        bookService.updateBook(VALID_ID, new CreateBookRequestDto());
+        clearInvocations(bookRepository);
+        BookDto actual = bookService.findBookById(VALID_ID);
+
+        assertThat(actual.getTitle()).isEqualTo("Updated Title");
+        verify(bookRepository, times(0)).findBookById(VALID_ID);
+    }
+
+    @Test
+    @DisplayName("save() should put the saved book into the cache")
+    public void save_NewBook_PutIntoCache() {
+        when(bookMapper.toModel(any(CreateBookRequestDto.class))).thenReturn(validBook);
+        when(bookRepository.save(validBook)).thenReturn(validBook);
+
+        bookService.save(new CreateBookRequestDto());
+        BookDto actual = bookService.findBookById(VALID_ID);
+
+        assertThat(actual).isEqualTo(validBookDto);
+        verify(bookRepository, times(0)).findBookById(VALID_ID);
+    }
+
+    @Configuration
+    @Import({CacheConfig.class, BookServiceImpl.class})
+    static class Config {
+        @Bean
+        public CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.BOOKS_CACHE);
+        }
+    }
+}
@@ -3,14 +3,21 @@ package store.bookstoreapp.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,17 +29,29 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import store.bookstoreapp.dto.book.AuthorFacetDto;
 import store.bookstoreapp.dto.book.BookDto;
 import store.bookstoreapp.dto.book.BookDtoWithoutCategoryIds;
+import store.bookstoreapp.dto.book.BookFacetsDto;
+import store.bookstoreapp.dto.book.BookSearchResultDto;
+import store.bookstoreapp.dto.book.CategoryFacetDto;
 import store.bookstoreapp.dto.book.CreateBookRequestDto;
+import store.bookstoreapp.dto.category.CategoryDto;
 import store.bookstoreapp.exception.EntityNotFoundException;
 import store.bookstoreapp.mapper.BookMapper;
 import store.bookstoreapp.model.Book;
 import store.bookstoreapp.model.Category;
 import store.bookstoreapp.repository.book.BookRepository;
 import store.bookstoreapp.repository.book.BookSpecificationBuilder;
+import store.bookstoreapp.repository.category.CategorySnapshot;
+import store.bookstoreapp.repository.category.CategorySnapshotHolder;
+import store.bookstoreapp.search.BookCategoryIndex;
+import store.bookstoreapp.search.BookFacetIndex;
+import store.bookstoreapp.search.BookIndexRefresher;
 import store.bookstoreapp.search.BookSearchParameters;
+import store.bookstoreapp.search.BookTextIndex;
 import store.bookstoreapp.service.impl.BookServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,6 +72,21 @@ public class BookServiceTest {
     @Mock
     private BookSpecificationBuilder bookSpecificationBuilder;
 
+    @Mock
+    private BookTextIndex bookTextIndex;
+
+    @Mock
+    private BookCategoryIndex bookCategoryIndex;
+
+    @Mock
+    private BookFacetIndex bookFacetIndex;
+
+    @Mock
+    private BookIndexRefresher bookIndexRefresher;
+
+    @Mock
+    private CategorySnapshotHolder categorySnapshotHolder;
+
     private Book validBook;
     private BookDto validBookDto;
     private CreateBookRequestDto validCreateBookRequestDto;
@@ -117,7 +151,8 @@ public class BookServiceTest {
         List<Book> books = List.of(validBook);
         Page<Book> bookPage = new PageImpl<>(books, pageable, books.size());
         when(bookRepository.findAll(pageable)).thenReturn(bookPage);
-        when(bookMapper.toDto(validBook)).thenReturn(validBookDto);
+        when(bookRepository.findCategoryIdsByBookIds(List.of(VALID_ID))).thenReturn(List.of());
+        when(bookMapper.toDto(validBook, Set.of())).thenReturn(validBookDto);
 
         List<BookDto> bookDtos = bookService.findAll(pageable);
 
@@ -154,11 +189,13 @@ public class BookServiceTest {
     public void updateBook_WithValidIdAndCreateBookRequestDto_ShouldReturnUpdatedBookDto() {
         when(bookRepository.findBookById(VALID_ID)).thenReturn(Optional.of(validBook));
         when(bookRepository.save(validBook)).thenReturn(validBook);
+        when(bookMapper.toCategoryIds(validBook.getCategories())).thenReturn(Set.of(1L));
         when(bookMapper.toDto(validBook)).thenReturn(validBookDto);
 
         BookDto updatedBook = bookService.updateBook(VALID_ID, validCreateBookRequestDto);
 
         verify(bookMapper).updateBookFromDto(validCreateBookRequestDto, validBook);
+        verify(bookIndexRefresher).index(validBook, Set.of(1L));
         assertThat(updatedBook).isEqualTo(validBookDto);
     }
 
@@ -181,6 +218,28 @@ public class BookServiceTest {
         bookService.deleteById(VALID_ID);
 
         verify(bookRepository).deleteById(VALID_ID);
+        verify(bookIndexRefresher).remove(VALID_ID);
+    }
+
+    @Test
+    @DisplayName("search() by text query should return books in ranked order")
+    public void search_WithTextQuery_ShouldReturnRankedBooks() {
+        Book secondBook = createValidBook();
+        secondBook.setId(2L);
+        BookDto secondBookDto = createValidBookDto();
+        secondBookDto.setId(2L);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(bookTextIndex.search("valid")).thenReturn(List.of(2L, VALID_ID));
+        when(bookRepository.findAllById(List.of(2L, VALID_ID)))
+                .thenReturn(List.of(validBook, secondBook));
+        when(bookRepository.findCategoryIdsByBookIds(List.of(2L, VALID_ID)))
+                .thenReturn(List.of());
+        when(bookMapper.toDto(validBook, Set.of())).thenReturn(validBookDto);
+        when(bookMapper.toDto(secondBook, Set.of())).thenReturn(secondBookDto);
+
+        List<BookDto> actual = bookService.search("valid", pageable);
+
+        assertThat(actual).containsExactly(secondBookDto, validBookDto);
     }
 
     @Test
@@ -189,7 +248,12 @@ public class BookServiceTest {
         BookSearchParameters searchParameters = new BookSearchParameters(
                 new String[]{"Valid Title"},
                 new String[]{"Valid Author"},
-                new String[]{}
+                new String[]{},
+                null,
+                null,
+                null,
+                null,
+                null
         );
         Pageable pageable = PageRequest.of(0, 10);
         Specification<Book> bookSpecification = mock(Specification.class);
@@ -197,13 +261,140 @@ public class BookServiceTest {
         when(bookSpecificationBuilder.build(searchParameters)).thenReturn(bookSpecification);
         when(bookRepository.findAll(bookSpecification, pageable))
                 .thenReturn(new PageImpl<>(List.of(validBook)));
-        when(bookMapper.toDto(validBook)).thenReturn(validBookDto);
+        when(bookRepository.findCategoryIdsByBookIds(List.of(VALID_ID))).thenReturn(List.of());
+        when(bookMapper.toDto(validBook, Set.of())).thenReturn(validBookDto);
 
         List<BookDto> resultsDtos = bookService.search(searchParameters, pageable);
 
         assertThat(resultsDtos).containsExactly(validBookDto);
     }
 
+    @Test
+    @DisplayName("search with only category filters should page the indexed ids in memory")
+    public void search_WithCategoryFilters_ShouldLoadOnlyThePage() {
+        BookSearchParameters searchParameters = new BookSearchParameters(
+                null, null, null, new Long[]{1L, 2L}, null, new Long[]{3L}, null, null);
+        Pageable pageable = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "id"));
+        when(bookCategoryIndex.isLoaded()).thenReturn(true);
+        when(bookCategoryIndex.find(Set.of(1L, 2L), Set.of(), Set.of(3L)))
+                .thenReturn(new long[]{VALID_ID, 2L, 3L});
+        when(bookRepository.findAllById(List.of(VALID_ID))).thenReturn(List.of(validBook));
+        when(bookRepository.findCategoryIdsByBookIds(List.of(VALID_ID))).thenReturn(List.of());
+        when(bookMapper.toDto(validBook, Set.of())).thenReturn(validBookDto);
+
+        List<BookDto> actual = bookService.search(searchParameters, pageable);
+
+        assertThat(actual).containsExactly(validBookDto);
+        verifyNoInteractions(bookSpecificationBuilder);
+    }
+
+    @Test
+    @DisplayName("search with category and price filters should query only the indexed ids")
+    public void search_WithCategoryAndPriceFilters_ShouldFilterByIndexedIds() {
+        BookSearchParameters searchParameters = new BookSearchParameters(null, null, null,
+                new Long[]{1L}, null, null, BigDecimal.TEN, null);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
+        Specification<Book> bookSpecification = mock(Specification.class);
+        when(bookCategoryIndex.isLoaded()).thenReturn(true);
+        when(bookCategoryIndex.find(Set.of(1L), Set.of(), Set.of()))
+                .thenReturn(new long[]{VALID_ID, 2L});
+        when(bookSpecificationBuilder.build(searchParameters, List.of(VALID_ID, 2L)))
+                .thenReturn(bookSpecification);
+        when(bookRepository.findAll(bookSpecification, pageable))
+                .thenReturn(new PageImpl<>(List.of(validBook)));
+        when(bookRepository.findCategoryIdsByBookIds(List.of(VALID_ID))).thenReturn(List.of());
+        when(bookMapper.toDto(validBook, Set.of())).thenReturn(validBookDto);
+
+        List<BookDto> actual = bookService.search(searchParameters, pageable);
+
+        assertThat(actual).containsExactly(validBookDto);
+    }
+
+    @Test
+    @DisplayName("search should keep the category predicates when too many ids match")
+    public void search_WithManyCategoryMatches_ShouldUseCategorySpecification() {
+        BookSearchParameters searchParameters = new BookSearchParameters(null, null, null,
+                new Long[]{1L}, null, null, BigDecimal.TEN, null);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
+        Specification<Book> bookSpecification = mock(Specification.class);
+        when(bookCategoryIndex.isLoaded()).thenReturn(true);
+        when(bookCategoryIndex.find(Set.of(1L), Set.of(), Set.of()))
+                .thenReturn(LongStream.rangeClosed(1, 1001).toArray());
+        when(bookSpecificationBuilder.build(searchParameters)).thenReturn(bookSpecification);
+        when(bookRepository.findAll(bookSpecification, pageable))
+                .thenReturn(new PageImpl<>(List.of(validBook)));
+        when(bookRepository.findCategoryIdsByBookIds(List.of(VALID_ID))).thenReturn(List.of());
+        when(bookMapper.toDto(validBook, Set.of())).thenReturn(validBookDto);
+
+        List<BookDto> actual = bookService.search(searchParameters, pageable);
+
+        assertThat(actual).containsExactly(validBookDto);
+        verify(bookSpecificationBuilder, never()).build(any(), any());
+    }
+
+    @Test
+    @DisplayName("search should not query the database when no book is in the categories")
+    public void search_WithUnmatchedCategoryFilters_ShouldReturnEmptyList() {
+        BookSearchParameters searchParameters = new BookSearchParameters(
+                new String[]{"Valid Title"}, null, null, null, new Long[]{1L}, null, null, null);
+        when(bookCategoryIndex.isLoaded()).thenReturn(true);
+        when(bookCategoryIndex.find(Set.of(), Set.of(1L), Set.of())).thenReturn(new long[0]);
+
+        List<BookDto> actual = bookService.search(searchParameters, PageRequest.of(0, 10));
+
+        assertThat(actual).isEmpty();
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("search should use the specification while the category index is not loaded")
+    public void search_WithCategoryFiltersBeforeIndexLoad_ShouldUseSpecification() {
+        BookSearchParameters searchParameters = new BookSearchParameters(
+                null, null, null, new Long[]{1L}, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
+        Specification<Book> bookSpecification = mock(Specification.class);
+        when(bookCategoryIndex.isLoaded()).thenReturn(false);
+        when(bookSpecificationBuilder.build(searchParameters)).thenReturn(bookSpecification);
+        when(bookRepository.findAll(bookSpecification, pageable))
+                .thenReturn(new PageImpl<>(List.of(validBook)));
+        when(bookRepository.findCategoryIdsByBookIds(List.of(VALID_ID))).thenReturn(List.of());
+        when(bookMapper.toDto(validBook, Set.of())).thenReturn(validBookDto);
+
+        List<BookDto> actual = bookService.search(searchParameters, pageable);
+
+        assertThat(actual).containsExactly(validBookDto);
+        verify(bookCategoryIndex, never()).find(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("searchWithFacets should return the page and the facets of all matches")
+    public void searchWithFacets_WithValidParameters_ShouldReturnBooksAndFacets() {
+        BookSearchParameters searchParameters = new BookSearchParameters(
+                null, new String[]{"Valid Author"}, null, null, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 10);
+        Specification<Book> bookSpecification = mock(Specification.class);
+        CategorySnapshot categories = CategorySnapshot.of(
+                new CategorySnapshot.Stamp(1L, LocalDateTime.now()),
+                List.of(new Category()), category -> new CategoryDto(2L, "Fiction", null));
+        BookFacetsDto facets = new BookFacetsDto(1, List.of(new CategoryFacetDto(2L, "Fiction", 1)),
+                List.of(new AuthorFacetDto("Valid Author", 1)), List.of());
+        when(bookSpecificationBuilder.build(searchParameters)).thenReturn(bookSpecification);
+        when(bookRepository.findAll(bookSpecification, pageable))
+                .thenReturn(new PageImpl<>(List.of(validBook)));
+        when(bookRepository.findCategoryIdsByBookIds(List.of(VALID_ID))).thenReturn(List.of());
+        when(bookMapper.toDto(validBook, Set.of())).thenReturn(validBookDto);
+        when(categorySnapshotHolder.get()).thenReturn(categories);
+        when(bookFacetIndex.facets(eq(searchParameters), argThat(
+                categoryNames -> "Fiction".equals(categoryNames.apply(2L))
+                        && categoryNames.apply(3L) == null)))
+                .thenReturn(facets);
+
+        BookSearchResultDto actual = bookService.searchWithFacets(searchParameters, pageable);
+
+        assertThat(actual.books()).containsExactly(validBookDto);
+        assertThat(actual.facets()).isEqualTo(facets);
+    }
+
     @Test
     @DisplayName("getBookByCategoryId should return a list of BookDtosWithoutCategoryIds "
             + "for valid ID and pageable")
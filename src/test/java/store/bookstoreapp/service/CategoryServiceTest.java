@@ -15,8 +15,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import store.bookstoreapp.dto.category.CategoryDto;
@@ -24,7 +22,12 @@ import store.bookstoreapp.dto.category.CategoryRequestDto;
 import store.bookstoreapp.exception.EntityNotFoundException;
 import store.bookstoreapp.mapper.CategoryMapper;
 import store.bookstoreapp.model.Category;
+import store.bookstoreapp.repository.book.BookRepository;
 import store.bookstoreapp.repository.category.CategoryRepository;
+import store.bookstoreapp.repository.category.CategorySnapshot;
+import store.bookstoreapp.repository.category.CategorySnapshotHolder;
+import store.bookstoreapp.search.BookCategoryIndex;
+import store.bookstoreapp.search.BookFacetIndex;
 import store.bookstoreapp.service.impl.CategoryServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +47,18 @@ public class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private CategorySnapshotHolder categorySnapshotHolder;
+
+    @Mock
+    private BookCategoryIndex bookCategoryIndex;
+
+    @Mock
+    private BookFacetIndex bookFacetIndex;
+
     private Category validCategory;
     private CategoryDto validCategoryDto;
     private CategoryRequestDto validCategoryRequestDto;
@@ -67,6 +82,11 @@ public class CategoryServiceTest {
         return new CategoryDto(category.getId(), category.getName(), category.getDescription());
     }
 
+    private CategorySnapshot createSnapshot(List<Category> categories) {
+        return CategorySnapshot.of(new CategorySnapshot.Stamp((long) categories.size(), null),
+                categories, this::createValidCategoryDto);
+    }
+
     private CategoryRequestDto createValidCategoryRequestDto() {
         CategoryRequestDto dto = new CategoryRequestDto();
         dto.setName(VALID_NAME);
@@ -84,15 +104,14 @@ public class CategoryServiceTest {
         CategoryDto savedCategory = categoryService.save(validCategoryRequestDto);
 
         assertThat(savedCategory).isEqualTo(validCategoryDto);
+        verify(categorySnapshotHolder).refresh();
     }
 
     @Test
     @DisplayName("findAll() should return all categories")
     public void findAll_WithValidPageable_ShouldReturnAllCategories() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Category> categoryPage = new PageImpl<>(List.of(validCategory), pageable, 1);
-        when(categoryRepository.findAll(pageable)).thenReturn(categoryPage);
-        when(categoryMapper.toDto(validCategory)).thenReturn(validCategoryDto);
+        when(categorySnapshotHolder.get()).thenReturn(createSnapshot(List.of(validCategory)));
 
         List<CategoryDto> categoryDtos = categoryService.findAll(pageable);
 
@@ -106,13 +125,16 @@ public class CategoryServiceTest {
         categoryService.delete(VALID_ID);
 
         verify(categoryRepository).deleteById(VALID_ID);
+        verify(bookRepository).incrementVersionByCategoryId(VALID_ID);
+        verify(bookCategoryIndex).removeCategory(VALID_ID);
+        verify(bookFacetIndex).removeCategory(VALID_ID);
+        verify(categorySnapshotHolder).refresh();
     }
 
     @Test
     @DisplayName("getById() should return CategoryDto for valid ID")
     public void getById_WithValidId_ShouldReturnCategoryDto() {
-        when(categoryRepository.findById(VALID_ID)).thenReturn(Optional.of(validCategory));
-        when(categoryMapper.toDto(validCategory)).thenReturn(validCategoryDto);
+        when(categorySnapshotHolder.get()).thenReturn(createSnapshot(List.of(validCategory)));
 
         CategoryDto categoryById = categoryService.getById(VALID_ID);
 
@@ -122,7 +144,7 @@ public class CategoryServiceTest {
     @Test
     @DisplayName("getById() should throw EntityNotFoundException for invalid ID")
     public void getById_WithInvalidId_ShouldThrowException() {
-        when(categoryRepository.findById(INVALID_ID)).thenReturn(Optional.empty());
+        when(categorySnapshotHolder.get()).thenReturn(createSnapshot(List.of(validCategory)));
 
         EntityNotFoundException exception = Assertions.assertThrows(
                 EntityNotFoundException.class,
@@ -1,15 +1,22 @@
 package store.bookstoreapp.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,20 +25,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import store.bookstoreapp.dto.book.BookDto;
+import org.springframework.jdbc.core.JdbcTemplate;
 import store.bookstoreapp.dto.cartitem.CartItemDto;
 import store.bookstoreapp.dto.cartitem.CartItemRequestDto;
+import store.bookstoreapp.dto.cartitem.CartItemsRequestDto;
 import store.bookstoreapp.dto.shoppingcart.ShoppingCartDto;
-import store.bookstoreapp.mapper.BookMapper;
+import store.bookstoreapp.dto.shoppingcart.ShoppingCartSummaryDto;
+import store.bookstoreapp.exception.EntityNotFoundException;
 import store.bookstoreapp.mapper.CartItemMapper;
 import store.bookstoreapp.mapper.ShoppingCartMapper;
 import store.bookstoreapp.model.Book;
 import store.bookstoreapp.model.CartItem;
 import store.bookstoreapp.model.ShoppingCart;
 import store.bookstoreapp.model.User;
+import store.bookstoreapp.repository.book.BookRepository;
 import store.bookstoreapp.repository.cartitem.CartItemRepository;
+import store.bookstoreapp.repository.cartitem.CartItemTotals;
 import store.bookstoreapp.repository.shoppingcart.ShoppingCartRepository;
-import store.bookstoreapp.repository.user.UserRepository;
 import store.bookstoreapp.service.impl.ShoppingCartServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,16 +64,13 @@ public class ShoppingCartServiceTest {
     private CartItemRepository cartItemRepository;
 
     @Mock
-    private BookService bookService;
+    private BookRepository bookRepository;
 
     @Mock
-    private BookMapper bookMapper;
-
-    @Mock
-    private UserRepository userRepository;
+    private CartItemMapper cartItemMapper;
 
     @Mock
-    private CartItemMapper cartItemMapper;
+    private JdbcTemplate jdbcTemplate;
 
     private ShoppingCart validShoppingCart;
     private CartItem validCartItem;
@@ -128,19 +135,6 @@ public class ShoppingCartServiceTest {
         return new CartItemDto(VALID_ID, VALID_ID, VALID_BOOK.getTitle(), 1);
     }
 
-    private BookDto createValidBookDto() {
-        BookDto bookDto = new BookDto();
-        bookDto.setId(VALID_ID);
-        bookDto.setAuthor("Valid Author");
-        bookDto.setTitle("Valid Title");
-        bookDto.setPrice(BigDecimal.valueOf(9.99));
-        bookDto.setIsbn("ValidISNB");
-        bookDto.setDescription("Valid description");
-        bookDto.setCoverImage("Valid cover image");
-        bookDto.setCategoryIds(Collections.emptySet());
-        return bookDto;
-    }
-
     private ShoppingCart createValidShoppingCart() {
         ShoppingCart shoppingCart = new ShoppingCart();
         shoppingCart.setId(VALID_ID);
@@ -151,48 +145,98 @@ public class ShoppingCartServiceTest {
 
     @Test
     @DisplayName("Verify addBookToShoppingCart() method works")
-    public void addBookToShoppingCart_ValidRequestDto_ReturnShoppingCartDto() {
-        User user = new User();
-        user.setId(VALID_ID);
-        ShoppingCart shoppingCart = createValidShoppingCart();
-        shoppingCart.setUser(user);
-        when(userRepository.findByEmail(any(String.class))).thenReturn(Optional.of(user));
-        when(shoppingCartRepository.getShoppingCartById(VALID_ID)).thenReturn(shoppingCart);
-        BookDto bookDto = createValidBookDto();
-        when(bookService.findBookById(VALID_ID)).thenReturn(bookDto);
-        Book book = createValidBook();
-        when(bookMapper.toModel(bookDto)).thenReturn(book);
-        CartItem cartItem = createValidCartItem();
-        when(cartItemRepository.save(any(CartItem.class))).thenReturn(cartItem);
-        when(shoppingCartRepository.save(any(ShoppingCart.class))).thenReturn(shoppingCart);
-        ShoppingCartDto expectedShoppingCartDto = createValidShoppingCartDto();
-        when(shoppingCartMapper.toDto(any(ShoppingCart.class))).thenReturn(expectedShoppingCartDto);
+    public void addBookToShoppingCart_ValidRequestDto_ReturnShoppingCartSummaryDto() {
+        when(bookRepository.existsById(VALID_ID)).thenReturn(true);
+        CartItemTotals totals = mock(CartItemTotals.class);
+        when(totals.getQuantity()).thenReturn(3);
+        when(totals.getCartItems()).thenReturn(2L);
+        when(totals.getTotalQuantity()).thenReturn(5L);
+        when(cartItemRepository.getTotals(VALID_ID, VALID_ID)).thenReturn(totals);
+        CartItemRequestDto requestDto = new CartItemRequestDto(VALID_ID, 1);
+        ShoppingCartSummaryDto expected = new ShoppingCartSummaryDto(VALID_ID, VALID_ID, 3, 2L, 5L);
+
+        ShoppingCartSummaryDto actual =
+                shoppingCartService.addBookToShoppingCart(requestDto, VALID_ID);
+
+        assertEquals(expected, actual);
+        verify(cartItemRepository).addQuantity(VALID_ID, VALID_ID, 1);
+    }
+
+    @Test
+    @DisplayName("Verify addBookToShoppingCart() throws exception for a missing book")
+    public void addBookToShoppingCart_MissingBook_ThrowEntityNotFoundException() {
+        when(bookRepository.existsById(VALID_ID)).thenReturn(false);
         CartItemRequestDto requestDto = new CartItemRequestDto(VALID_ID, 1);
 
-        ShoppingCartDto result = shoppingCartService.addBookToShoppingCart(requestDto, VALID_EMAIL);
+        assertThrows(EntityNotFoundException.class,
+                () -> shoppingCartService.addBookToShoppingCart(requestDto, VALID_ID));
+        verify(cartItemRepository, never()).addQuantity(VALID_ID, VALID_ID, 1);
+    }
+
+    @Test
+    @DisplayName("Verify addBooksToShoppingCart() writes all books in one batch")
+    public void addBooksToShoppingCart_ValidRequestDto_BatchUpdateAndReturnShoppingCartDto() {
+        when(bookRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(shoppingCartRepository.getShoppingCartById(VALID_ID))
+                .thenReturn(validShoppingCart);
+        when(shoppingCartMapper.toDto(validShoppingCart)).thenReturn(validShoppingCartDto);
+        CartItemsRequestDto requestDto = new CartItemsRequestDto(List.of(
+                new CartItemRequestDto(2L, 1),
+                new CartItemRequestDto(1L, 2),
+                new CartItemRequestDto(2L, 3)));
+
+        ShoppingCartDto actual =
+                shoppingCartService.addBooksToShoppingCart(requestDto, VALID_ID);
+
+        assertEquals(validShoppingCartDto, actual);
+        verify(jdbcTemplate).batchUpdate(anyString(),
+                eq(Map.of(1L, 2, 2L, 4).entrySet()), eq(2), any());
+    }
 
-        assertEquals(expectedShoppingCartDto, result);
+    @Test
+    @DisplayName("Verify addBooksToShoppingCart() throws exception for missing books")
+    public void addBooksToShoppingCart_MissingBook_ThrowEntityNotFoundException() {
+        when(bookRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(List.of(1L));
+        CartItemsRequestDto requestDto = new CartItemsRequestDto(List.of(
+                new CartItemRequestDto(1L, 1),
+                new CartItemRequestDto(2L, 1)));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> shoppingCartService.addBooksToShoppingCart(requestDto, VALID_ID));
+
+        assertEquals("Can't find books with ids: [2]", exception.getMessage());
+        verifyNoInteractions(jdbcTemplate);
     }
 
     @Test
     @DisplayName("Verify getShoppingCart() method works")
-    public void getShoppingCart_ValidEmail_ReturnShoppingCartDto() {
-        when(userRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.of(DEFAULT_USER));
-        when(shoppingCartRepository.getShoppingCartById(DEFAULT_USER.getId()))
+    public void getShoppingCart_ValidUserId_ReturnShoppingCartDto() {
+        when(shoppingCartRepository.getShoppingCartById(VALID_ID))
                 .thenReturn(validShoppingCart);
         when(shoppingCartMapper.toDto(validShoppingCart)).thenReturn(validShoppingCartDto);
 
-        ShoppingCartDto actual = shoppingCartService.getShoppingCart(VALID_EMAIL);
+        ShoppingCartDto actual = shoppingCartService.getShoppingCart(VALID_ID);
 
         assertEquals(actual, validShoppingCartDto);
     }
 
     @Test
     @DisplayName("Verify deleteItemFromShoppingCart() method works")
-    public void deleteItemFromShoppingCart_ValidIdAndEmail_CallDeleteById() {
-        shoppingCartService.deleteItemFromShoppingCart(VALID_ID, VALID_EMAIL);
+    public void deleteItemFromShoppingCart_ValidIdAndUserId_DeleteFromOwnCart() {
+        when(cartItemRepository.deleteByIdAndShoppingCartId(VALID_ID, VALID_ID)).thenReturn(1);
+
+        shoppingCartService.deleteItemFromShoppingCart(VALID_ID, VALID_ID);
+
+        verify(cartItemRepository).deleteByIdAndShoppingCartId(VALID_ID, VALID_ID);
+    }
+
+    @Test
+    @DisplayName("Verify deleteItemFromShoppingCart() throws exception for another cart's item")
+    public void deleteItemFromShoppingCart_ItemNotInCart_ThrowEntityNotFoundException() {
+        when(cartItemRepository.deleteByIdAndShoppingCartId(VALID_ID, VALID_ID)).thenReturn(0);
 
-        verify(cartItemRepository).deleteById(VALID_ID);
+        assertThrows(EntityNotFoundException.class,
+                () -> shoppingCartService.deleteItemFromShoppingCart(VALID_ID, VALID_ID));
     }
 
     @Test
@@ -206,15 +250,14 @@ public class ShoppingCartServiceTest {
                 cartItemDto.bookId(),
                 cartItemDto.bookTitle(),
                 newQuantity);
-        when(userRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.of(DEFAULT_USER));
-        when(shoppingCartRepository.getShoppingCartById(DEFAULT_USER.getId()))
+        when(shoppingCartRepository.getShoppingCartById(VALID_ID))
                 .thenReturn(validShoppingCart);
         validShoppingCart.getCartItems().add(validCartItem);
         when(cartItemRepository.save(validCartItem)).thenReturn(validCartItem);
         when(cartItemMapper.toDto(validCartItem)).thenReturn(expectedCartItemDto);
 
         CartItemDto actualCartItemDto = shoppingCartService
-                .updateQuantity(VALID_ID, newQuantity, VALID_EMAIL);
+                .updateQuantity(VALID_ID, newQuantity, VALID_ID);
 
         assertEquals(expectedCartItemDto, actualCartItemDto);
         assertEquals(newQuantity, actualCartItemDto.quantity());
@@ -0,0 +1,6 @@
+INSERT INTO categories(id, name, description, is_deleted) VALUES (1, 'First name', 'Description',0);
+INSERT INTO categories(id, name, description, is_deleted) VALUES (2, 'Second name', 'Description',0);
+INSERT INTO categories(id, name, description, is_deleted) VALUES (3, 'Third name', 'Description',0);
+INSERT INTO books (id, title, price, author, isbn, description, cover_image, is_deleted) WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000) SELECT n, CONCAT('Title ', n), n % 100 + 0.99, CONCAT('Author ', n % 200), CONCAT('ISBN', n), 'description', 'coverimage', 0 FROM seq;
+INSERT INTO books_categories (book_id, category_id) SELECT id, id % 3 + 1 FROM books;
+INSERT INTO books_categories (book_id, category_id) SELECT id, (id + 1) % 3 + 1 FROM books WHERE id % 10 = 0;
@@ -1 +1 @@
-delete from books where id = 4;
+delete from books where id = 4 or isbn = 'ValidISBN';
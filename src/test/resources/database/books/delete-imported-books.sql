@@ -0,0 +1,2 @@
+DELETE FROM books_categories WHERE book_id > 3;
+DELETE FROM books WHERE id > 3;
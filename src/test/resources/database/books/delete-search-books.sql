@@ -0,0 +1,3 @@
+DELETE FROM books_categories;
+DELETE FROM books;
+DELETE FROM categories;
@@ -0,0 +1,6 @@
+INSERT INTO orders (id, user_id, status, total, order_date, shipping_address, is_deleted) SELECT 11, id, 'COMPLETED', 9.99, '2024-01-01 10:00:00', 'Shipping address', 0 FROM users WHERE email = 'test@email.com';
+INSERT INTO orders (id, user_id, status, total, order_date, shipping_address, is_deleted) SELECT 12, id, 'DELIVERED', 59.97, '2024-02-01 10:00:00', 'Shipping address', 0 FROM users WHERE email = 'test@email.com';
+INSERT INTO orders (id, user_id, status, total, order_date, shipping_address, is_deleted) SELECT 13, id, 'PENDING', 0, '2024-02-01 10:00:00', 'Shipping address', 0 FROM users WHERE email = 'test@email.com';
+INSERT INTO orders_items (order_id, book_id, quantity, price, is_deleted) VALUES (11, 1, 1, 9.99, 0);
+INSERT INTO orders_items (order_id, book_id, quantity, price, is_deleted) VALUES (12, 2, 2, 39.98, 0);
+INSERT INTO orders_items (order_id, book_id, quantity, price, is_deleted) VALUES (12, 3, 1, 19.99, 0);
@@ -0,0 +1,2 @@
+DELETE FROM orders_items;
+DELETE FROM orders;
\ No newline at end of file
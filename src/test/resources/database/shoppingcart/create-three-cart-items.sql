@@ -0,0 +1,3 @@
+INSERT INTO cards_items (shopping_cart_id, book_id, quantity, is_deleted) VALUES (1,1,1,0);
+INSERT INTO cards_items (shopping_cart_id, book_id, quantity, is_deleted) VALUES (1,2,2,0);
+INSERT INTO cards_items (shopping_cart_id, book_id, quantity, is_deleted) VALUES (1,3,3,0);
\ No newline at end of file